@@ -0,0 +1,70 @@
+#!/usr/bin/env bash
+# Reports time-to-first-request for each startup mode.
+#
+#   ./mvnw -Pfast-startup package
+#   ./scripts/startup-benchmark.sh [runs]
+#
+# Needs MySQL from docker-compose.yml running. The prod profile applies the Flyway
+# migrations on its first start, then validates the schema against the entities.
+# The AOT context and CDS archive are built for the prod profile, so only the prod modes use them.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+RUNS="${1:-5}"
+PORT="${PORT:-8080}"
+APP_DIR="target/app"
+JAR="checkitoff-backend-0.0.1-SNAPSHOT.jar"
+CDS_ARCHIVE="application.jsa"
+
+if [[ ! -f "$APP_DIR/$JAR" || ! -f "$APP_DIR/$CDS_ARCHIVE" ]]; then
+	echo "Missing $APP_DIR/$JAR or $APP_DIR/$CDS_ARCHIVE - run ./mvnw -Pfast-startup package first" >&2
+	exit 1
+fi
+
+now_ms() {
+	date +%s%3N
+}
+
+# Starts the app with the given JVM/app arguments and prints ms until GET / answers.
+measure() {
+	local start pid elapsed
+	start=$(now_ms)
+	# CDS only applies when the classpath matches the training run, so launch from the same directory.
+	(cd "$APP_DIR" && exec java "$@" -jar "$JAR" --server.port="$PORT" > /dev/null 2>&1) &
+	pid=$!
+	until curl -sf "http://localhost:$PORT/" > /dev/null; do
+		if ! kill -0 "$pid" 2> /dev/null; then
+			echo "failed"
+			return
+		fi
+		sleep 0.02
+	done
+	elapsed=$(( $(now_ms) - start ))
+	kill "$pid"
+	wait "$pid" 2> /dev/null || true
+	echo "$elapsed"
+}
+
+run_mode() {
+	local name="$1"
+	shift
+	local total=0 samples=()
+	for _ in $(seq "$RUNS"); do
+		local t
+		t=$(measure "$@")
+		if [[ "$t" == "failed" ]]; then
+			printf "%-28s failed to start\n" "$name"
+			return
+		fi
+		samples+=("$t")
+		total=$(( total + t ))
+	done
+	printf "%-28s avg %6d ms   runs: %s\n" "$name" $(( total / RUNS )) "${samples[*]}"
+}
+
+echo "Time to first request, $RUNS runs per mode"
+run_mode "default (ddl update)"
+run_mode "prod (validate)"             -Dspring.profiles.active=prod
+run_mode "prod + AOT"                  -Dspring.profiles.active=prod -Dspring.aot.enabled=true
+run_mode "prod + AOT + CDS"            -Dspring.profiles.active=prod -Dspring.aot.enabled=true -XX:SharedArchiveFile="$CDS_ARCHIVE"
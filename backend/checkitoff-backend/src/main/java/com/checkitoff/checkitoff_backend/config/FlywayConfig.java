@@ -0,0 +1,23 @@
+package com.checkitoff.checkitoff_backend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Migrations run on every normal start of the prod profile. The CDS training run of the
+ * fast-startup build (spring.context.exit=onRefresh) only loads classes, so it skips them
+ * and never needs a database.
+ */
+@Configuration
+public class FlywayConfig {
+	
+	@Bean
+	public FlywayMigrationStrategy flywayMigrationStrategy(@Value("${spring.context.exit:}") String contextExit) {
+		boolean trainingRun = !contextExit.isBlank();
+		return flyway -> {
+			if (!trainingRun) flyway.migrate();
+		};
+	}
+}
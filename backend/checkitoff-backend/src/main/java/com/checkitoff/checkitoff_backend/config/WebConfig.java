@@ -0,0 +1,67 @@
+package com.checkitoff.checkitoff_backend.config;
+
+import com.checkitoff.checkitoff_backend.dto.ModerationFeedItem;
+import com.checkitoff.checkitoff_backend.dto.NewsSummary;
+import com.checkitoff.checkitoff_backend.dto.UserSummary;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Serves application/cbor next to JSON from the same handlers. Clients that send
+ * "Accept: application/cbor" get the handler's return value encoded as CBOR; everyone else keeps
+ * getting JSON. Both mappers come from Boot's builder, so they share modules and settings.
+ */
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+	
+	private static final List<Class<?>> SUMMARY_TYPES = List.of(
+			NewsSummary.class, ModerationFeedItem.class, UserSummary.class);
+	
+	@Autowired
+	private ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilder;
+	
+	@Autowired
+	private ObjectMapper objectMapper;
+	
+	// Spring Boot registers Module beans with every mapper it builds (JSON and CBOR): property access
+	// goes through generated lambdas instead of reflection.
+	@Bean
+	public static Module blackbirdModule() {
+		return new BlackbirdModule();
+	}
+	
+	// Spring MVC already registers a CBOR converter, built without Boot's customizations, ahead of
+	// anything appended here; swap it for one on Boot's builder in the same position.
+	@Override
+	public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+		ObjectMapper cborMapper = objectMapperBuilder.getObject()
+				.factory(new CBORFactory())
+				.build();
+		warmUp(cborMapper);
+		warmUp(objectMapper);
+		MappingJackson2CborHttpMessageConverter cbor = new MappingJackson2CborHttpMessageConverter(cborMapper);
+		converters.replaceAll(converter -> converter instanceof MappingJackson2CborHttpMessageConverter ? cbor : converter);
+		if (!converters.contains(cbor)) {
+			converters.add(cbor);
+		}
+	}
+	
+	// Build and cache the serializers of the hot summary DTOs up front instead of on the first request.
+	private static void warmUp(ObjectMapper mapper) {
+		for (Class<?> type : SUMMARY_TYPES) {
+			mapper.canSerialize(type);
+		}
+	}
+}
@@ -1,13 +1,25 @@
 package com.checkitoff.checkitoff_backend.controller;
 
+import com.checkitoff.checkitoff_backend.dto.MostViewedNews;
+import com.checkitoff.checkitoff_backend.dto.NearDuplicate;
+import com.checkitoff.checkitoff_backend.dto.NewsSummary;
+import com.checkitoff.checkitoff_backend.dto.Suggestion;
 import com.checkitoff.checkitoff_backend.model.News;
 import com.checkitoff.checkitoff_backend.repository.NewsRepository;
+import com.checkitoff.checkitoff_backend.service.NearDuplicateService;
+import com.checkitoff.checkitoff_backend.service.NewsArchiveService;
+import com.checkitoff.checkitoff_backend.service.NewsReadModel;
 import com.checkitoff.checkitoff_backend.service.NewsService;
+import com.checkitoff.checkitoff_backend.service.SuggestionIndex;
+import com.checkitoff.checkitoff_backend.service.ViewTrackingService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.*;
 
 @CrossOrigin(origins = "http://localhost:5173")
@@ -21,18 +33,91 @@ public class NewsController {
 	@Autowired
 	private NewsService newsService;
 	
+	@Autowired
+	private NearDuplicateService nearDuplicateService;
+	
+	@Autowired
+	private NewsArchiveService newsArchiveService;
+	
+	@Autowired
+	private SuggestionIndex suggestionIndex;
+	
+	@Autowired
+	private NewsReadModel newsReadModel;
+	
+	@Autowired
+	private ViewTrackingService viewTrackingService;
+	
+	// Summaries only (no fullDescription); the full story comes from /api/news/{id}.
+	// JSON, or CBOR for "Accept: application/cbor".
 	@GetMapping
-	public List<News> getAllNews() {
-		return newsRepository.findAll();
+	public List<NewsSummary> getAllNews() {
+		return newsReadModel.isReady() ? newsReadModel.exportAll() : newsRepository.findAllSummaries();
 	}
 	
+	// From the read model when it is up; JPA still answers for stories the outbox has not delivered yet.
 	@GetMapping("/{id}")
 	public ResponseEntity<News> getNewsById(@PathVariable Long id) {
-		return newsRepository.findById(id)
+		Optional<News> news = (newsReadModel.isReady() ? newsReadModel.findDetail(id) : Optional.<News>empty())
+				.or(() -> newsRepository.findById(id));
+		news.ifPresent(n -> viewTrackingService.recordView(id));
+		return news
+				.or(() -> newsArchiveService.findArchivedNews(id))
 				.map(ResponseEntity::ok)
 				.orElse(ResponseEntity.notFound().build());
 	}
 	
+	// ?window=1h | 24h | 7d
+	@GetMapping("/most-viewed")
+	public ResponseEntity<?> getMostViewed(@RequestParam(defaultValue = "24h") String window,
+										   @RequestParam(defaultValue = "10") int limit) {
+		Duration duration = parseWindow(window);
+		if (duration == null) {
+			return ResponseEntity.badRequest().body(Map.of("error", "window must look like 30m, 24h or 7d"));
+		}
+		List<MostViewedNews> items = viewTrackingService.mostViewed(duration, Math.max(1, Math.min(limit, 100)));
+		return ResponseEntity.ok(Map.of("window", window, "items", items));
+	}
+	
+	@GetMapping("/recent")
+	public List<News> getRecentNews(@RequestParam(defaultValue = "24") int hours) {
+		return newsService.findRecent(Math.max(1, hours));
+	}
+	
+	// ?from=2025-01-01T00:00:00&to=2025-02-01T00:00:00 (to is exclusive)
+	@GetMapping("/range")
+	public ResponseEntity<?> getNewsInRange(
+			@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+			@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+		if (!from.isBefore(to)) {
+			return ResponseEntity.badRequest().body(Map.of("error", "from must be before to"));
+		}
+		return ResponseEntity.ok(newsService.findPublishedBetween(from, to));
+	}
+	
+	@GetMapping("/archive/{id}")
+	public ResponseEntity<?> getArchivedNews(@PathVariable Long id) {
+		Optional<News> news = newsArchiveService.findArchivedNews(id);
+		if (news.isEmpty()) {
+			return ResponseEntity.notFound().build();
+		}
+		Map<String, Object> response = new HashMap<>();
+		response.put("news", news.get());
+		response.put("votes", newsArchiveService.findArchivedVotes(id));
+		return ResponseEntity.ok(response);
+	}
+	
+	@PutMapping("/archive")
+	public ResponseEntity<Map<String, Object>> archiveOldNews(@RequestParam(defaultValue = "365") int olderThanDays) {
+		int archived = newsArchiveService.archiveOlderThan(LocalDateTime.now().minusDays(Math.max(1, olderThanDays)));
+		
+		Map<String, Object> response = new HashMap<>();
+		response.put("status", "success");
+		response.put("archived", archived);
+		response.put("message", "Archived news older than " + olderThanDays + " days");
+		return ResponseEntity.ok(response);
+	}
+	
 	@PutMapping("/update-all-counts")
 	public ResponseEntity<Map<String, String>> updateAllCounts() {
 		newsService.updateAllCounts();
@@ -55,23 +140,33 @@ public class NewsController {
 	
 	@PostMapping
 	public ResponseEntity<Map<String, Object>> addNews(@RequestBody News news) {
-		News savedNews = newsRepository.save(news);
+		News savedNews = newsService.addNews(news);
+		List<NearDuplicate> duplicates = nearDuplicateService.findClassifiedDuplicates(savedNews);
+		nearDuplicateService.index(savedNews);
+		
 		Map<String, Object> response = new HashMap<>();
 		response.put("status", "success");
 		response.put("message", "🌟 News added successfully");
 		response.put("data", savedNews);
+		response.put("possibleDuplicates", duplicates);
 		return ResponseEntity.ok(response);
 	}
 	
+	@GetMapping("/{id}/near-duplicates")
+	public ResponseEntity<List<NearDuplicate>> getNearDuplicates(@PathVariable Long id) {
+		if (!newsRepository.existsById(id)) {
+			return ResponseEntity.notFound().build();
+		}
+		return ResponseEntity.ok(nearDuplicateService.findNearDuplicates(id));
+	}
+	
 	@PutMapping("/{id}/toggle-visibility")
 	public ResponseEntity<Map<String, Object>> toggleVisibility(@PathVariable Long id) {
-		Optional<News> optional = newsRepository.findById(id);
+		Optional<News> optional = newsService.toggleVisibility(id);
 		Map<String, Object> response = new HashMap<>();
 		
 		if (optional.isPresent()) {
 			News news = optional.get();
-			news.setVisible(!Boolean.TRUE.equals(news.getVisible()));
-			newsRepository.save(news);
 			
 			response.put("success", true);
 			response.put("visible", news.getVisible());
@@ -95,14 +190,10 @@ public class NewsController {
 	}
 	
 	private ResponseEntity<Map<String, Object>> updateVisibility(Long id, boolean visible) {
-		Optional<News> optional = newsRepository.findById(id);
+		Optional<News> optional = newsService.setVisibility(id, visible);
 		Map<String, Object> response = new HashMap<>();
 		
 		if (optional.isPresent()) {
-			News news = optional.get();
-			news.setVisible(visible);
-			newsRepository.save(news);
-			
 			response.put("success", true);
 			response.put("visible", visible);
 			response.put("message", visible ? "🌟 News shown successfully" : "🚧 News hidden successfully");
@@ -114,8 +205,51 @@ public class NewsController {
 		return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
 	}
 	
+	// Summary feed (no fullDescription), newest first; pass nextCursor as ?before= for the next page.
+	@GetMapping("/feed")
+	public Map<String, Object> getFeed(@RequestParam(required = false) String category,
+									   @RequestParam(required = false) Long before,
+									   @RequestParam(defaultValue = "20") int size) {
+		int pageSize = Math.max(1, Math.min(size, 200));
+		List<NewsSummary> items = newsReadModel.isReady()
+				? newsReadModel.feed(category, before, pageSize + 1)
+				: newsService.findFeed(category, before, pageSize + 1);
+		boolean hasMore = items.size() > pageSize;
+		if (hasMore) items = items.subList(0, pageSize);
+		
+		Map<String, Object> response = new HashMap<>();
+		response.put("items", items);
+		response.put("hasMore", hasMore);
+		response.put("nextCursor", hasMore ? items.get(items.size() - 1).id() : null);
+		return response;
+	}
+	
+	@GetMapping("/category/{category}")
+	public List<NewsSummary> getByCategory(@PathVariable String category,
+										   @RequestParam(defaultValue = "50") int size) {
+		int pageSize = Math.max(1, Math.min(size, 200));
+		return newsReadModel.isReady()
+				? newsReadModel.feed(category, null, pageSize)
+				: newsService.findFeed(category, null, pageSize);
+	}
+	
+	@GetMapping("/read-model/stats")
+	public Map<String, Object> getReadModelStats() {
+		Map<String, Object> response = new HashMap<>();
+		response.put("ready", newsReadModel.isReady());
+		response.put("memory", newsReadModel.memoryReport());
+		response.put("categories", newsReadModel.categoryTotals());
+		return response;
+	}
+	
 	@GetMapping("/stats")
 	public Map<String, Object> getStats() {
+		if (newsReadModel.isReady()) {
+			Map<String, Object> response = new HashMap<>();
+			response.put("stats", newsReadModel.stats());
+			return response;
+		}
+		
 		long total = newsRepository.count();
 		long verified = newsRepository.countByCategoryIgnoreCase("Verified");
 		long fake = newsRepository.countByCategoryIgnoreCase("Fake News");
@@ -137,6 +271,12 @@ public class NewsController {
 		return ResponseEntity.of(newsRepository.findById(id));
 	}
 	
+	@GetMapping("/suggest")
+	public List<Suggestion> suggest(@RequestParam("q") String prefix,
+									@RequestParam(defaultValue = "8") int limit) {
+		return suggestionIndex.suggest(prefix, Math.max(1, Math.min(limit, SuggestionIndex.MAX_RESULTS)));
+	}
+	
 	@GetMapping("/search")
 	public ResponseEntity<List<News>> searchNews(@RequestParam("q") String keyword) {
 		try {
@@ -148,5 +288,13 @@ public class NewsController {
 		}
 	}
 	
-	
+	private static Duration parseWindow(String window) {
+		if (window == null || !window.matches("\\d{1,4}[mhd]")) return null;
+		long amount = Long.parseLong(window.substring(0, window.length() - 1));
+		return switch (window.charAt(window.length() - 1)) {
+			case 'm' -> Duration.ofMinutes(amount);
+			case 'h' -> Duration.ofHours(amount);
+			default -> Duration.ofDays(amount);
+		};
+	}
 }
@@ -0,0 +1,30 @@
+package com.checkitoff.checkitoff_backend.controller;
+
+import com.checkitoff.checkitoff_backend.service.AdaptiveConcurrencyLimiter;
+import com.checkitoff.checkitoff_backend.service.NearDuplicateService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@CrossOrigin(origins = "http://localhost:5173")
+@RestController
+@RequestMapping("/api/system")
+public class SystemController {
+	
+	@Autowired
+	private AdaptiveConcurrencyLimiter limiter;
+	
+	@Autowired
+	private NearDuplicateService nearDuplicateService;
+	
+	@GetMapping("/limiter")
+	public Map<String, Object> getLimiterMetrics() {
+		return limiter.metrics();
+	}
+	
+	@GetMapping("/dedup")
+	public Map<String, Object> getDedupMetrics() {
+		return nearDuplicateService.metrics();
+	}
+}
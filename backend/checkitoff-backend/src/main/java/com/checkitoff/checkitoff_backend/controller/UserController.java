@@ -1,12 +1,15 @@
 package com.checkitoff.checkitoff_backend.controller;
 
+import com.checkitoff.checkitoff_backend.dto.UserSummary;
 import com.checkitoff.checkitoff_backend.model.User;
 import com.checkitoff.checkitoff_backend.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.security.crypto.bcrypt.BCrypt;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -18,9 +21,35 @@ public class UserController {
 	@Autowired
 	private UserRepository userRepository;
 	
-	@GetMapping
-	public List<User> getAllUsers() {
-		return userRepository.findAll();
+	// Paged user directory: ?role=ADMIN&visible=true&q=jo&after=<last id>&size=50
+	@GetMapping("/directory")
+	public ResponseEntity<?> getUserDirectory(@RequestParam(required = false) String role,
+											  @RequestParam(required = false) Boolean visible,
+											  @RequestParam(required = false) String q,
+											  @RequestParam(required = false) Long after,
+											  @RequestParam(defaultValue = "50") int size) {
+		try {
+			int pageSize = Math.max(1, Math.min(size, 200));
+			String normalizedRole = role != null && !role.isBlank() ? role.trim().toUpperCase() : null;
+			// Escape LIKE wildcards so the search stays a pure prefix match.
+			String prefix = q != null && !q.isBlank()
+					? q.trim().replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_")
+					: null;
+			
+			List<UserSummary> rows = userRepository.findDirectory(
+					normalizedRole, visible, prefix, after, PageRequest.of(0, pageSize + 1));
+			boolean hasMore = rows.size() > pageSize;
+			List<UserSummary> items = hasMore ? rows.subList(0, pageSize) : rows;
+			
+			Map<String, Object> response = new HashMap<>();
+			response.put("items", items);
+			response.put("hasMore", hasMore);
+			response.put("nextCursor", hasMore ? items.get(items.size() - 1).id() : null);
+			return ResponseEntity.ok(response);
+		} catch (Exception e) {
+			e.printStackTrace();
+			return ResponseEntity.internalServerError().body(Map.of("error", e.getMessage()));
+		}
 	}
 	
 	@GetMapping("/roles")
@@ -33,28 +62,6 @@ public class UserController {
 		return ResponseEntity.ok(roles);
 	}
 	
-	@GetMapping("/roles/all")
-	public ResponseEntity<?> getAllUsersWithRoles() {
-		try {
-			List<Map<String, Object>> usersWithRoles = userRepository.findAll().stream()
-					.map(u -> {
-						Map<String, Object> userMap = new java.util.HashMap<>();
-						userMap.put("id", u.getId());
-						userMap.put("name", u.getName());
-						userMap.put("surname", u.getSurname());
-						userMap.put("email", u.getEmail());
-						userMap.put("role", u.getRole() != null ? u.getRole() : "READER");
-						userMap.put("visible", u.getVisible());
-						return userMap;
-					})
-					.toList();
-			
-			return ResponseEntity.ok(usersWithRoles);
-		} catch (Exception e) {
-			return ResponseEntity.internalServerError().body(Map.of("error", e.getMessage()));
-		}
-	}
-	
 	@PutMapping("/{id}/role")
 	public ResponseEntity<?> updateRole(@PathVariable Long id, @RequestBody Map<String, Object> body) {
 		System.out.println("Received role update for user ID: " + id);
@@ -1,18 +1,30 @@
 package com.checkitoff.checkitoff_backend.controller;
 
+import com.checkitoff.checkitoff_backend.dto.BulkVisibilityResult;
+import com.checkitoff.checkitoff_backend.dto.ModerationFeedItem;
 import com.checkitoff.checkitoff_backend.model.News;
 import com.checkitoff.checkitoff_backend.model.User;
 import com.checkitoff.checkitoff_backend.model.VotesAndComments;
 import com.checkitoff.checkitoff_backend.repository.NewsRepository;
 import com.checkitoff.checkitoff_backend.repository.UserRepository; // ✅ เพิ่มตรงนี้
 import com.checkitoff.checkitoff_backend.repository.VotesAndCommentsRepository;
+import com.checkitoff.checkitoff_backend.service.CommentModerationService;
+import com.checkitoff.checkitoff_backend.service.NewsService;
+import com.checkitoff.checkitoff_backend.service.VoteService;
+import com.checkitoff.checkitoff_backend.service.VoterBitmapIndex;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 @CrossOrigin(origins = "http://localhost:5173")
 @RestController
@@ -28,6 +40,15 @@ public class VotesAndCommentsController {
 	@Autowired
 	private UserRepository userRepository; // ✅ เพิ่มตรงนี้
 	
+	@Autowired
+	private CommentModerationService commentModerationService;
+	
+	@Autowired
+	private VoteService voteService;
+	
+	@Autowired
+	private VoterBitmapIndex voterBitmapIndex;
+	
 	@GetMapping
 	public List<VotesAndComments> getAllVotesAndComments() {
 		return votesAndCommentsRepository.findAll();
@@ -56,51 +77,25 @@ public class VotesAndCommentsController {
 			String comment = (String) payload.get("comment");
 			String imageUrl = (String) payload.get("image_url");
 			
+			VotesAndComments.VoteType vote = VotesAndComments.VoteType.valueOf(voteStr);
+			voteService.saveVote(newsId, userId, name, vote, comment, imageUrl);
+			
+			// Counters are committed with the vote; the category follows from the outbox,
+			// so report the one it will settle on.
 			News news = newsRepository.findById(newsId)
 					.orElseThrow(() -> new RuntimeException("News not found"));
+			long commentCount = news.getCommentsCount() != null ? news.getCommentsCount() : 0;
+			long upVotes = news.getUpVotes() != null ? news.getUpVotes() : 0;
+			long downVotes = news.getDownVotes() != null ? news.getDownVotes() : 0;
 			
-			if (news.getUpVotes() == null) news.setUpVotes(0);
-			if (news.getDownVotes() == null) news.setDownVotes(0);
-			if (news.getCommentsCount() == null) news.setCommentsCount(0);
-			
-			VotesAndComments vc = new VotesAndComments();
-			vc.setUserId(userId);
-			vc.setName(name);
-			vc.setVote(VotesAndComments.VoteType.valueOf(voteStr));
-			vc.setComment(comment);
-			vc.setImageUrl(imageUrl);
-			vc.setVisible(true);
-			vc.setNews(news);
-			
-			votesAndCommentsRepository.save(vc);
-			
-			long commentCount = votesAndCommentsRepository.countCommentsByNewsId(newsId);
-			long upVotes = votesAndCommentsRepository.countUpVotesByNewsId(newsId);
-			long downVotes = votesAndCommentsRepository.countDownVotesByNewsId(newsId);
-			
-			news.setCommentsCount((int) commentCount);
-			news.setUpVotes((int) upVotes);
-			news.setDownVotes((int) downVotes);
-			
-			if ("Unverified".equalsIgnoreCase(news.getCategory())) {
-				if (upVotes > downVotes) {
-					news.setCategory("Verified");
-				} else if (downVotes > upVotes) {
-					news.setCategory("Fake News");
-				} else {
-					news.setCategory("Unverified");
-				}
-			}
-			
-			newsRepository.save(news);
-			
-			return ResponseEntity.ok(Map.of(
-					"message", "Vote saved successfully",
-					"commentsCount", commentCount,
-					"upVotes", upVotes,
-					"downVotes", downVotes,
-					"category", news.getCategory()
-			));
+			// HashMap: stories created without a category have none to report.
+			Map<String, Object> response = new HashMap<>();
+			response.put("message", "Vote saved successfully");
+			response.put("commentsCount", commentCount);
+			response.put("upVotes", upVotes);
+			response.put("downVotes", downVotes);
+			response.put("category", NewsService.expectedCategory(news.getCategory(), upVotes, downVotes));
+			return ResponseEntity.ok(response);
 		} catch (Exception e) {
 			e.printStackTrace();
 			return ResponseEntity.internalServerError()
@@ -109,9 +104,10 @@ public class VotesAndCommentsController {
 	}
 	
 	
+	// JSON, or CBOR for "Accept: application/cbor".
 	@GetMapping("/news/{newsId}")
-	public List<VotesAndComments> getVotesByNewsId(@PathVariable Long newsId) {
-		return votesAndCommentsRepository.findCommentsByNewsId(newsId);
+	public List<ModerationFeedItem> getVotesByNewsId(@PathVariable Long newsId) {
+		return votesAndCommentsRepository.findFeedItemsByNewsId(newsId);
 	}
 	
 	@GetMapping("/hidden")
@@ -119,12 +115,76 @@ public class VotesAndCommentsController {
 		return votesAndCommentsRepository.findHiddenComments();
 	}
 	
+	// Moderation feed for the admin dashboard: one paged query across all stories.
+	// Pass the returned nextCursor as ?before= to load the next page.
+	@GetMapping("/moderation-feed")
+	public ResponseEntity<?> getModerationFeed(@RequestParam(required = false) Boolean visible,
+											   @RequestParam(required = false) String vote,
+											   @RequestParam(required = false) Long newsId,
+											   @RequestParam(required = false) Integer userId,
+											   @RequestParam(required = false) Long before,
+											   @RequestParam(defaultValue = "50") int size) {
+		try {
+			int pageSize = Math.max(1, Math.min(size, 200));
+			VotesAndComments.VoteType voteType = vote != null && !vote.isBlank()
+					? VotesAndComments.VoteType.valueOf(vote.trim().toLowerCase())
+					: null;
+			
+			// Fetch one extra row to know whether another page exists without a COUNT query.
+			List<ModerationFeedItem> rows = votesAndCommentsRepository.findModerationFeed(
+					visible, voteType, newsId, userId, before, PageRequest.of(0, pageSize + 1));
+			boolean hasMore = rows.size() > pageSize;
+			List<ModerationFeedItem> items = hasMore ? rows.subList(0, pageSize) : rows;
+			
+			Map<String, Object> response = new HashMap<>();
+			response.put("items", items);
+			response.put("hasMore", hasMore);
+			response.put("nextCursor", hasMore ? items.get(items.size() - 1).id() : null);
+			return ResponseEntity.ok(response);
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.badRequest().body(Map.of("error", String.valueOf(e.getMessage())));
+		} catch (Exception e) {
+			e.printStackTrace();
+			return ResponseEntity.internalServerError().body(Map.of("error", "Failed to load moderation feed"));
+		}
+	}
+	
+	// Which of these stories has the user voted on: ?userId=7&newsIds=1,2,3
+	@GetMapping("/voted-status")
+	public ResponseEntity<?> getVotedStatus(@RequestParam Integer userId, @RequestParam List<Long> newsIds) {
+		if (newsIds.size() > 200) {
+			return ResponseEntity.badRequest().body(Map.of("error", "At most 200 newsIds per request"));
+		}
+		return ResponseEntity.ok(voterBitmapIndex.votedStatus(userId, newsIds));
+	}
+	
+	@GetMapping("/voter-index/stats")
+	public Map<String, Object> getVoterIndexStats(@RequestParam(defaultValue = "50") int limit) {
+		Map<String, Object> response = new HashMap<>();
+		response.put("stories", voterBitmapIndex.storyCount());
+		response.put("totalBytes", voterBitmapIndex.totalBytes());
+		response.put("perStory", voterBitmapIndex.memoryStats(Math.max(1, limit)));
+		return response;
+	}
+	
+	// Votes and comments created in [from, to), newest first.
+	@GetMapping("/window")
+	public ResponseEntity<?> getVotesInWindow(
+			@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+			@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+			@RequestParam(required = false) Long newsId,
+			@RequestParam(defaultValue = "200") int size) {
+		if (!from.isBefore(to)) {
+			return ResponseEntity.badRequest().body(Map.of("error", "from must be before to"));
+		}
+		int pageSize = Math.max(1, Math.min(size, 1000));
+		return ResponseEntity.ok(votesAndCommentsRepository.findInWindow(
+				Timestamp.valueOf(from), Timestamp.valueOf(to), newsId, PageRequest.of(0, pageSize)));
+	}
+	
 	@PutMapping("/hide/{id}")
 	public ResponseEntity<?> hideComment(@PathVariable Long id, @RequestBody Map<String, Object> payload) {
 		try {
-			VotesAndComments c = votesAndCommentsRepository.findById(id)
-					.orElseThrow(() -> new RuntimeException("Comment not found"));
-			
 			boolean isVisible = true;
 			if (payload.containsKey("is_visible")) {
 				Object v = payload.get("is_visible");
@@ -132,65 +192,52 @@ public class VotesAndCommentsController {
 				else if (v instanceof Number n) isVisible = n.intValue() != 0;
 			}
 			
-			String voteType = null;
-			if (payload.containsKey("vote")) {
-				voteType = (String) payload.get("vote");
-			}
-			
-			News news = c.getNews();
-			if (news.getCommentsCount() == null) news.setCommentsCount(0);
-			if (news.getUpVotes() == null) news.setUpVotes(0);
-			if (news.getDownVotes() == null) news.setDownVotes(0);
+			News news = commentModerationService.updateVisibility(id, isVisible);
 			
-			if (!isVisible && c.isVisible()) {
-				if (news.getCommentsCount() > 0) news.setCommentsCount(news.getCommentsCount() - 1);
-				
-				if (voteType != null) {
-					if (voteType.equalsIgnoreCase("upvote")) {
-						news.setUpVotes(Math.max(0, news.getUpVotes() - 1));
-					} else if (voteType.equalsIgnoreCase("downvote")) {
-						news.setDownVotes(Math.max(0, news.getDownVotes() - 1));
-					}
-				} else {
-					if (c.getVote() == VotesAndComments.VoteType.upvote) {
-						news.setUpVotes(Math.max(0, news.getUpVotes() - 1));
-					} else if (c.getVote() == VotesAndComments.VoteType.downvote) {
-						news.setDownVotes(Math.max(0, news.getDownVotes() - 1));
-					}
-				}
-				
-				c.setVisible(false);
+			return ResponseEntity.ok(Map.of(
+					"message", "Comment visibility and votes updated successfully",
+					"newsUpVotes", news.getUpVotes(),
+					"newsDownVotes", news.getDownVotes(),
+					"commentsCount", news.getCommentsCount()
+			));
+		} catch (Exception e) {
+			e.printStackTrace();
+			return ResponseEntity.internalServerError().body(Map.of("error", "Failed to update comment visibility and votes"));
+		}
+	}
+	
+	// Bulk hide/show: { "ids": [1, 2, 3], "is_visible": false } or { "user_id": 7, "news_id": 3, "is_visible": false }
+	@PutMapping("/bulk-visibility")
+	public ResponseEntity<?> bulkUpdateVisibility(@RequestBody Map<String, Object> payload) {
+		try {
+			boolean isVisible = true;
+			if (payload.containsKey("is_visible")) {
+				Object v = payload.get("is_visible");
+				if (v instanceof Boolean b) isVisible = b;
+				else if (v instanceof Number n) isVisible = n.intValue() != 0;
 			}
 			
-			else if (isVisible && !c.isVisible()) {
-				news.setCommentsCount(news.getCommentsCount() + 1);
-				
-				if (voteType != null) {
-					if (voteType.equalsIgnoreCase("upvote")) {
-						news.setUpVotes(news.getUpVotes() + 1);
-					} else if (voteType.equalsIgnoreCase("downvote")) {
-						news.setDownVotes(news.getDownVotes() + 1);
-					}
-				} else {
-					if (c.getVote() == VotesAndComments.VoteType.upvote) {
-						news.setUpVotes(news.getUpVotes() + 1);
-					} else if (c.getVote() == VotesAndComments.VoteType.downvote) {
-						news.setDownVotes(news.getDownVotes() + 1);
-					}
-				}
-				
-				c.setVisible(true);
+			BulkVisibilityResult result;
+			if (payload.get("ids") instanceof List<?> rawIds && !rawIds.isEmpty()) {
+				List<Long> ids = rawIds.stream()
+						.filter(Objects::nonNull)
+						.map(id -> Long.valueOf(id.toString()))
+						.distinct()
+						.toList();
+				result = commentModerationService.setVisibilityByIds(ids, isVisible);
+			} else {
+				Integer userId = payload.get("user_id") != null ? Integer.valueOf(payload.get("user_id").toString()) : null;
+				Long newsId = payload.get("news_id") != null ? Long.valueOf(payload.get("news_id").toString()) : null;
+				result = commentModerationService.setVisibilityByFilter(userId, newsId, isVisible);
 			}
 			
-			votesAndCommentsRepository.save(c);
-			newsRepository.save(news);
-			
 			return ResponseEntity.ok(Map.of(
 					"message", "Comment visibility and votes updated successfully",
-					"newsUpVotes", news.getUpVotes(),
-					"newsDownVotes", news.getDownVotes(),
-					"commentsCount", news.getCommentsCount()
+					"updatedComments", result.updatedComments(),
+					"updatedNews", result.updatedNews()
 			));
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
 		} catch (Exception e) {
 			e.printStackTrace();
 			return ResponseEntity.internalServerError().body(Map.of("error", "Failed to update comment visibility and votes"));
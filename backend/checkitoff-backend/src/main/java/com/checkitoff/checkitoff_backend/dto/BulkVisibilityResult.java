@@ -0,0 +1,4 @@
+package com.checkitoff.checkitoff_backend.dto;
+
+public record BulkVisibilityResult(int updatedComments, int updatedNews) {
+}
@@ -0,0 +1,20 @@
+package com.checkitoff.checkitoff_backend.dto;
+
+import com.checkitoff.checkitoff_backend.model.VotesAndComments;
+
+import java.sql.Timestamp;
+
+public record ModerationFeedItem(
+		Long id,
+		Integer userId,
+		String name,
+		VotesAndComments.VoteType vote,
+		String comment,
+		String imageUrl,
+		Timestamp createdAt,
+		Boolean isVisible,
+		Long newsId,
+		String newsTitle,
+		String newsCategory
+) {
+}
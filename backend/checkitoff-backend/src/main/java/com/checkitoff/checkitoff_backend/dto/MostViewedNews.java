@@ -0,0 +1,4 @@
+package com.checkitoff.checkitoff_backend.dto;
+
+public record MostViewedNews(Long newsId, String title, String category, long views) {
+}
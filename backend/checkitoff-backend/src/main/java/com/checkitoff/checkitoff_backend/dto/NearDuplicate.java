@@ -0,0 +1,4 @@
+package com.checkitoff.checkitoff_backend.dto;
+
+public record NearDuplicate(Long newsId, String title, String category, double similarity) {
+}
@@ -0,0 +1,19 @@
+package com.checkitoff.checkitoff_backend.dto;
+
+import java.time.LocalDateTime;
+
+public record NewsSummary(
+		Long id,
+		String title,
+		String category,
+		String description,
+		String author,
+		String date,
+		String image,
+		LocalDateTime publishedAt,
+		Integer upVotes,
+		Integer downVotes,
+		Integer commentsCount,
+		Boolean visible
+) {
+}
@@ -0,0 +1,4 @@
+package com.checkitoff.checkitoff_backend.dto;
+
+public record Suggestion(String text, String type, long weight) {
+}
@@ -0,0 +1,11 @@
+package com.checkitoff.checkitoff_backend.dto;
+
+public record UserSummary(
+		Long id,
+		String name,
+		String surname,
+		String email,
+		String role,
+		Boolean visible
+) {
+}
@@ -0,0 +1,6 @@
+package com.checkitoff.checkitoff_backend.dto;
+
+import com.checkitoff.checkitoff_backend.model.VotesAndComments;
+
+public record VoterEntry(Long newsId, Integer userId, VotesAndComments.VoteType vote) {
+}
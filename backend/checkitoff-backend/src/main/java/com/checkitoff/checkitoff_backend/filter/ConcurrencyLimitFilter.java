@@ -0,0 +1,71 @@
+package com.checkitoff.checkitoff_backend.filter;
+
+import com.checkitoff.checkitoff_backend.service.AdaptiveConcurrencyLimiter;
+import com.checkitoff.checkitoff_backend.service.AdaptiveConcurrencyLimiter.Priority;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+// Sheds /api/news and /api/votes traffic with 503 once the adaptive limit is reached.
+@Component
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+	
+	private static final String ALLOWED_ORIGIN = "http://localhost:5173";
+	
+	@Autowired
+	private AdaptiveConcurrencyLimiter limiter;
+	
+	@Value("${checkitoff.limiter.enabled:true}")
+	private boolean enabled;
+	
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		String path = request.getRequestURI();
+		return !enabled
+				|| "OPTIONS".equals(request.getMethod())
+				|| !(path.startsWith("/api/news") || path.startsWith("/api/votes"));
+	}
+	
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+			throws ServletException, IOException {
+		Priority priority = classify(request);
+		if (!limiter.tryAcquire(priority)) {
+			reject(request, response);
+			return;
+		}
+		long start = System.nanoTime();
+		try {
+			chain.doFilter(request, response);
+		} finally {
+			limiter.release(System.nanoTime() - start);
+		}
+	}
+	
+	private static Priority classify(HttpServletRequest request) {
+		String method = request.getMethod();
+		if ("GET".equals(method) || "HEAD".equals(method)) return Priority.READ;
+		if ("POST".equals(method) && "/api/votes".equals(request.getRequestURI())) return Priority.VOTE;
+		return Priority.ADMIN;
+	}
+	
+	private static void reject(HttpServletRequest request, HttpServletResponse response) throws IOException {
+		response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+		response.setHeader("Retry-After", "1");
+		// Rejected before Spring MVC, so @CrossOrigin never runs; the browser still needs to read the 503.
+		if (ALLOWED_ORIGIN.equals(request.getHeader("Origin"))) {
+			response.setHeader("Access-Control-Allow-Origin", ALLOWED_ORIGIN);
+		}
+		response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+		response.getWriter().write("{\"error\":\"Server is busy, please retry\"}");
+	}
+}
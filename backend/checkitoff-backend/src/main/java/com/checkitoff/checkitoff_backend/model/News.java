@@ -1,14 +1,20 @@
 package com.checkitoff.checkitoff_backend.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.time.LocalDateTime;
+
 @Entity
 @Getter
 @Setter
-@Table(name = "news")
+@Table(name = "news", indexes = {
+		@Index(name = "idx_news_published_at", columnList = "published_at"),
+		@Index(name = "idx_news_visible_published_at", columnList = "visible, published_at")
+})
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class News {
 	
@@ -29,6 +35,15 @@ public class News {
 	private String date;
 	private String image;
 	
+	// Typed copy of the free-form date, used for ordering and range queries.
+	@Column(name = "published_at")
+	private LocalDateTime publishedAt;
+	
+	// Set when the startup backfill could not parse date, so it is not retried on every boot.
+	@JsonIgnore
+	@Column(name = "date_unparseable", nullable = false, columnDefinition = "TINYINT(1) DEFAULT 0")
+	private Boolean dateUnparseable = false;
+	
 	private Integer upVotes = 0;
 	private Integer downVotes = 0;
 	private Integer commentsCount = 0;
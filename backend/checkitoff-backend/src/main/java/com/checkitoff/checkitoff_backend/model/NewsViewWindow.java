@@ -0,0 +1,33 @@
+package com.checkitoff.checkitoff_backend.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+// Approximate view count of one story over one flush window (heavy hitters only).
+@Entity
+@Getter
+@Setter
+@Table(name = "news_view_windows", indexes = {
+		@Index(name = "idx_news_views_window", columnList = "window_start, news_id")
+})
+public class NewsViewWindow {
+	
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+	
+	@Column(name = "news_id", nullable = false)
+	private Long newsId;
+	
+	@Column(name = "window_start", nullable = false)
+	private LocalDateTime windowStart;
+	
+	@Column(name = "window_end", nullable = false)
+	private LocalDateTime windowEnd;
+	
+	@Column(nullable = false)
+	private Long views;
+}
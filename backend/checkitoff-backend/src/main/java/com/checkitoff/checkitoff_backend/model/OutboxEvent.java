@@ -0,0 +1,57 @@
+package com.checkitoff.checkitoff_backend.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Getter
+@Setter
+@Table(name = "outbox_events", indexes = {
+		@Index(name = "idx_outbox_pending", columnList = "processed_at, id")
+})
+public class OutboxEvent {
+	
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+	
+	@Column(name = "news_id", nullable = false)
+	private Long newsId;
+	
+	@Enumerated(EnumType.STRING)
+	@Column(name = "event_type", nullable = false, length = 40)
+	private EventType eventType;
+	
+	@Column(columnDefinition = "TEXT")
+	private String payload;
+	
+	@Column(name = "created_at", nullable = false)
+	private LocalDateTime createdAt = LocalDateTime.now();
+	
+	@Column(name = "processed_at")
+	private LocalDateTime processedAt;
+	
+	@Column(nullable = false)
+	private Integer attempts = 0;
+	
+	@Column(name = "last_error", length = 500)
+	private String lastError;
+	
+	// Set after max-attempts failures; parked events are neither retried nor cleaned up.
+	@Column(name = "parked_at")
+	private LocalDateTime parkedAt;
+	
+	// Instance currently working on the event, until claimed_until.
+	@Column(name = "claimed_by", length = 64)
+	private String claimedBy;
+	
+	@Column(name = "claimed_until")
+	private LocalDateTime claimedUntil;
+	
+	public enum EventType {
+		VOTE_CREATED, COMMENT_VISIBILITY_CHANGED, NEWS_CHANGED
+	}
+}
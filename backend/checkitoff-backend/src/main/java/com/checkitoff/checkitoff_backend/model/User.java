@@ -1,5 +1,6 @@
 package com.checkitoff.checkitoff_backend.model;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
@@ -7,7 +8,12 @@ import lombok.Setter;
 @Entity
 @Getter
 @Setter
-@Table(name = "users")
+@Table(name = "users", indexes = {
+		@Index(name = "idx_users_name", columnList = "name"),
+		@Index(name = "idx_users_surname", columnList = "surname"),
+		@Index(name = "idx_users_email", columnList = "email"),
+		@Index(name = "idx_users_role_visible", columnList = "role, visible")
+})
 public class User {
 	
 	@Id
@@ -17,8 +23,12 @@ public class User {
 	private String name;
 	private String surname;
 	private String email;
+	
+	// Accepted on create, never serialized back to clients.
+	@JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
 	private String password;
-	private String role;
+	
+	private String role = "READER";
 	
 	@Column(nullable = false, columnDefinition = "TINYINT(1)")
 	private Boolean visible = true;
@@ -8,7 +8,12 @@ import lombok.Setter;
 @Entity
 @Getter
 @Setter
-@Table(name = "votesandcomments")
+@Table(name = "votesandcomments", indexes = {
+		@Index(name = "idx_vc_visible_id", columnList = "is_visible, id"),
+		@Index(name = "idx_vc_news_id", columnList = "news_id, id"),
+		@Index(name = "idx_vc_user_id", columnList = "user_id, id"),
+		@Index(name = "idx_vc_created_at", columnList = "created_at")
+})
 public class VotesAndComments {
 	
 	@Id
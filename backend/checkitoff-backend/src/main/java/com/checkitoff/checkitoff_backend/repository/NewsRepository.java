@@ -1,24 +1,106 @@
 package com.checkitoff.checkitoff_backend.repository;
 
+import com.checkitoff.checkitoff_backend.dto.NewsSummary;
 import com.checkitoff.checkitoff_backend.model.News;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface NewsRepository extends JpaRepository<News, Long> {
 	List<News> findByVisibleTrue();
 	List<News> findByVisibleFalse();
 	long countByCategoryIgnoreCase(String category);
+	List<News> findByPublishedAtIsNullAndDateUnparseableFalse();
+	List<News> findByVisibleTrueAndPublishedAtGreaterThanEqualOrderByPublishedAtDesc(LocalDateTime since);
+	List<News> findByVisibleTrueAndPublishedAtGreaterThanEqualAndPublishedAtLessThanOrderByPublishedAtDesc(
+			LocalDateTime from, LocalDateTime to);
+	
+	@Query("SELECT new com.checkitoff.checkitoff_backend.dto.NewsSummary(" +
+			"n.id, n.title, n.category, n.description, n.author, n.date, n.image, n.publishedAt, " +
+			"COALESCE(n.upVotes, 0), COALESCE(n.downVotes, 0), COALESCE(n.commentsCount, 0), n.visible) " +
+			"FROM News n WHERE n.visible = true " +
+			"AND (:category IS NULL OR LOWER(n.category) = LOWER(:category)) " +
+			"AND (:beforeId IS NULL OR n.id < :beforeId) " +
+			"ORDER BY n.id DESC")
+	List<NewsSummary> findFeed(@Param("category") String category, @Param("beforeId") Long beforeId, Pageable pageable);
+	
+	@Query("SELECT new com.checkitoff.checkitoff_backend.dto.NewsSummary(" +
+			"n.id, n.title, n.category, n.description, n.author, n.date, n.image, n.publishedAt, " +
+			"COALESCE(n.upVotes, 0), COALESCE(n.downVotes, 0), COALESCE(n.commentsCount, 0), n.visible) " +
+			"FROM News n ORDER BY n.id")
+	List<NewsSummary> findAllSummaries();
+	
+	@Query("SELECT n.fullDescription FROM News n WHERE n.id = :id")
+	Optional<String> findFullDescriptionById(@Param("id") Long id);
 	
 	@Query("SELECT n FROM News n WHERE " +
 			"LOWER(n.title) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
 			"LOWER(n.author) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
 			"LOWER(n.category) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
 			"LOWER(n.description) LIKE LOWER(CONCAT('%', :keyword, '%')) " +
-			"ORDER BY n.date DESC")
+			"ORDER BY n.publishedAt DESC, n.id DESC")
 	List<News> searchNews(@Param("keyword") String keyword);
+	
+	// Vote path: bump the counters in place, no read-modify-write of the row.
+	@Modifying
+	@Query("UPDATE News n SET n.upVotes = COALESCE(n.upVotes, 0) + :up, " +
+			"n.downVotes = COALESCE(n.downVotes, 0) + :down, " +
+			"n.commentsCount = COALESCE(n.commentsCount, 0) + :comments " +
+			"WHERE n.id = :newsId")
+	int incrementCounters(@Param("newsId") Long newsId, @Param("up") int up, @Param("down") int down,
+						  @Param("comments") int comments);
+	
+	// Same rule as NewsService.expectedCategory, applied in one statement against the current counters.
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("UPDATE News n SET n.category = CASE " +
+			"WHEN COALESCE(n.upVotes, 0) > COALESCE(n.downVotes, 0) THEN 'Verified' " +
+			"WHEN COALESCE(n.downVotes, 0) > COALESCE(n.upVotes, 0) THEN 'Fake News' " +
+			"ELSE n.category END " +
+			"WHERE n.id = :newsId AND LOWER(n.category) = 'unverified' " +
+			"AND COALESCE(n.upVotes, 0) <> COALESCE(n.downVotes, 0)")
+	int reclassifyUnverified(@Param("newsId") Long newsId);
+	
+	// Counter adjustments for bulk comment moderation. Must run BEFORE the visibility flip,
+	// because the grouped sub-select picks the rows that are about to change.
+	// :delta is +1 when showing comments and -1 when hiding them.
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query(value = "UPDATE news n JOIN (" +
+			"SELECT v.news_id, " +
+			"COALESCE(SUM(v.comment IS NOT NULL), 0) AS comments, " +
+			"COALESCE(SUM(v.vote = 'upvote'), 0) AS ups, " +
+			"COALESCE(SUM(v.vote = 'downvote'), 0) AS downs " +
+			"FROM votesandcomments v " +
+			"WHERE v.is_visible <> :visible AND v.id IN (:ids) " +
+			"GROUP BY v.news_id) x ON x.news_id = n.id " +
+			"SET n.comments_count = GREATEST(0, COALESCE(n.comments_count, 0) + :delta * x.comments), " +
+			"n.up_votes = GREATEST(0, COALESCE(n.up_votes, 0) + :delta * x.ups), " +
+			"n.down_votes = GREATEST(0, COALESCE(n.down_votes, 0) + :delta * x.downs)", nativeQuery = true)
+	int adjustCountsForCommentIds(@Param("ids") Collection<Long> ids, @Param("visible") boolean visible,
+								  @Param("delta") int delta);
+	
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query(value = "UPDATE news n JOIN (" +
+			"SELECT v.news_id, " +
+			"COALESCE(SUM(v.comment IS NOT NULL), 0) AS comments, " +
+			"COALESCE(SUM(v.vote = 'upvote'), 0) AS ups, " +
+			"COALESCE(SUM(v.vote = 'downvote'), 0) AS downs " +
+			"FROM votesandcomments v " +
+			"WHERE v.is_visible <> :visible " +
+			"AND (:userId IS NULL OR v.user_id = :userId) " +
+			"AND (:newsId IS NULL OR v.news_id = :newsId) " +
+			"GROUP BY v.news_id) x ON x.news_id = n.id " +
+			"SET n.comments_count = GREATEST(0, COALESCE(n.comments_count, 0) + :delta * x.comments), " +
+			"n.up_votes = GREATEST(0, COALESCE(n.up_votes, 0) + :delta * x.ups), " +
+			"n.down_votes = GREATEST(0, COALESCE(n.down_votes, 0) + :delta * x.downs)", nativeQuery = true)
+	int adjustCountsForCommentFilter(@Param("userId") Integer userId, @Param("newsId") Long newsId,
+									 @Param("visible") boolean visible, @Param("delta") int delta);
 }
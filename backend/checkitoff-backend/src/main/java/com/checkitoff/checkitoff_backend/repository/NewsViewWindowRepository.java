@@ -0,0 +1,24 @@
+package com.checkitoff.checkitoff_backend.repository;
+
+import com.checkitoff.checkitoff_backend.dto.ViewCount;
+import com.checkitoff.checkitoff_backend.model.NewsViewWindow;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface NewsViewWindowRepository extends JpaRepository<NewsViewWindow, Long> {
+	
+	@Query("SELECT new com.checkitoff.checkitoff_backend.dto.ViewCount(w.newsId, SUM(w.views)) " +
+			"FROM NewsViewWindow w WHERE w.windowStart >= :since " +
+			"GROUP BY w.newsId ORDER BY SUM(w.views) DESC")
+	List<ViewCount> findTopSince(@Param("since") LocalDateTime since, Pageable pageable);
+	
+	@Modifying
+	@Query("DELETE FROM NewsViewWindow w WHERE w.windowStart < :before")
+	int deleteOlderThan(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,59 @@
+package com.checkitoff.checkitoff_backend.repository;
+
+import com.checkitoff.checkitoff_backend.model.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+	
+	// Leases the oldest unclaimed pending events to one instance. Concurrent claims serialize on the
+	// row locks, so an event is never leased to two instances at once.
+	@Modifying
+	@Query(value = "UPDATE outbox_events SET claimed_by = :owner, claimed_until = :until " +
+			"WHERE processed_at IS NULL AND parked_at IS NULL AND (claimed_until IS NULL OR claimed_until < :now) " +
+			"ORDER BY id LIMIT :limit", nativeQuery = true)
+	int claim(@Param("owner") String owner, @Param("now") LocalDateTime now,
+			@Param("until") LocalDateTime until, @Param("limit") int limit);
+	
+	@Query("SELECT e FROM OutboxEvent e WHERE e.claimedBy = :owner AND e.processedAt IS NULL AND e.parkedAt IS NULL " +
+			"ORDER BY e.id ASC")
+	List<OutboxEvent> findClaimed(@Param("owner") String owner);
+	
+	// Every event after a per-instance cursor, whether or not it was processed already.
+	@Query("SELECT e FROM OutboxEvent e WHERE e.id > :afterId ORDER BY e.id ASC")
+	List<OutboxEvent> findAfter(@Param("afterId") long afterId, Pageable pageable);
+	
+	@Query("SELECT MAX(e.id) FROM OutboxEvent e WHERE e.createdAt < :before")
+	Long findMaxIdCreatedBefore(@Param("before") LocalDateTime before);
+	
+	@Modifying
+	@Query("UPDATE OutboxEvent e SET e.processedAt = :processedAt WHERE e.id IN :ids")
+	int markProcessed(@Param("ids") Collection<Long> ids, @Param("processedAt") LocalDateTime processedAt);
+	
+	@Modifying
+	@Query("UPDATE OutboxEvent e SET e.attempts = e.attempts + 1, e.lastError = :error, " +
+			"e.claimedBy = NULL, e.claimedUntil = NULL WHERE e.id IN :ids")
+	int markFailed(@Param("ids") Collection<Long> ids, @Param("error") String error);
+	
+	@Modifying
+	@Query("UPDATE OutboxEvent e SET e.parkedAt = :parkedAt WHERE e.id IN :ids")
+	int markParked(@Param("ids") Collection<Long> ids, @Param("parkedAt") LocalDateTime parkedAt);
+	
+	@Modifying
+	@Query("UPDATE OutboxEvent e SET e.claimedBy = NULL, e.claimedUntil = NULL WHERE e.id IN :ids")
+	int release(@Param("ids") Collection<Long> ids);
+	
+	long countByParkedAtIsNotNull();
+	
+	// Parked events have no processed_at, so they stay until someone looks at them.
+	@Modifying
+	@Query("DELETE FROM OutboxEvent e WHERE e.processedAt < :before")
+	int deleteProcessedBefore(@Param("before") LocalDateTime before);
+}
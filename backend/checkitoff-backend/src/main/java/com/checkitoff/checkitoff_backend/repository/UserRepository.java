@@ -1,11 +1,38 @@
 package com.checkitoff.checkitoff_backend.repository;
 
+import com.checkitoff.checkitoff_backend.dto.UserSummary;
 import com.checkitoff.checkitoff_backend.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
 	
 	User findByEmail(String email);
+	
+	// Keyset-paged directory projection; the password column is never selected.
+	// Prefix LIKE (no leading wildcard, no LOWER) so MySQL can use the column indexes;
+	// the default collation already compares case-insensitively.
+	// Users without a role are readers (V7 backfills them). The role is compared bare so the filter
+	// stays on idx_users_role_visible; the IS NULL branch covers local schemas that never ran V7.
+	@Query("SELECT new com.checkitoff.checkitoff_backend.dto.UserSummary(" +
+			"u.id, u.name, u.surname, u.email, COALESCE(u.role, 'READER'), u.visible) " +
+			"FROM User u " +
+			"WHERE (:role IS NULL OR u.role = :role OR (:role = 'READER' AND u.role IS NULL)) " +
+			"AND (:visible IS NULL OR u.visible = :visible) " +
+			"AND (:prefix IS NULL OR u.name LIKE CONCAT(:prefix, '%') " +
+			"OR u.surname LIKE CONCAT(:prefix, '%') " +
+			"OR u.email LIKE CONCAT(:prefix, '%')) " +
+			"AND (:afterId IS NULL OR u.id > :afterId) " +
+			"ORDER BY u.id ASC")
+	List<UserSummary> findDirectory(@Param("role") String role,
+									@Param("visible") Boolean visible,
+									@Param("prefix") String prefix,
+									@Param("afterId") Long afterId,
+									Pageable pageable);
 }
@@ -1,20 +1,27 @@
 package com.checkitoff.checkitoff_backend.repository;
 
+import com.checkitoff.checkitoff_backend.dto.ModerationFeedItem;
+import com.checkitoff.checkitoff_backend.dto.VoterEntry;
 import com.checkitoff.checkitoff_backend.model.VotesAndComments;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.sql.Timestamp;
+import java.util.Collection;
 import java.util.List;
 
 public interface VotesAndCommentsRepository extends JpaRepository<VotesAndComments, Long> {
 	
-	@Query("SELECT COUNT(v) FROM VotesAndComments v WHERE v.news.id = :newsId AND v.comment IS NOT NULL")
+	@Query("SELECT COUNT(v) FROM VotesAndComments v WHERE v.news.id = :newsId AND v.comment IS NOT NULL AND v.isVisible = true")
 	long countCommentsByNewsId(Long newsId);
 	
-	@Query("SELECT COUNT(v) FROM VotesAndComments v WHERE v.news.id = :newsId AND v.vote = 'upvote'")
+	@Query("SELECT COUNT(v) FROM VotesAndComments v WHERE v.news.id = :newsId AND v.vote = 'upvote' AND v.isVisible = true")
 	long countUpVotesByNewsId(Long newsId);
 	
-	@Query("SELECT COUNT(v) FROM VotesAndComments v WHERE v.news.id = :newsId AND v.vote = 'downvote'")
+	@Query("SELECT COUNT(v) FROM VotesAndComments v WHERE v.news.id = :newsId AND v.vote = 'downvote' AND v.isVisible = true")
 	long countDownVotesByNewsId(Long newsId);
 	
 	@Query("SELECT v FROM VotesAndComments v WHERE v.news.id = :newsId")
@@ -23,4 +30,71 @@ public interface VotesAndCommentsRepository extends JpaRepository<VotesAndCommen
 	@Query("SELECT v FROM VotesAndComments v WHERE v.isVisible = false")
 	List<VotesAndComments> findHiddenComments();
 	
+	@Query("SELECT new com.checkitoff.checkitoff_backend.dto.VoterEntry(v.news.id, v.userId, v.vote) " +
+			"FROM VotesAndComments v WHERE v.isVisible = true AND v.userId IS NOT NULL AND v.vote IS NOT NULL")
+	List<VoterEntry> findAllVisibleVoters();
+	
+	@Query("SELECT new com.checkitoff.checkitoff_backend.dto.VoterEntry(v.news.id, v.userId, v.vote) " +
+			"FROM VotesAndComments v WHERE v.news.id = :newsId " +
+			"AND v.isVisible = true AND v.userId IS NOT NULL AND v.vote IS NOT NULL")
+	List<VoterEntry> findVisibleVotersByNewsId(@Param("newsId") Long newsId);
+	
+	@Query("SELECT new com.checkitoff.checkitoff_backend.dto.ModerationFeedItem(" +
+			"v.id, v.userId, v.name, v.vote, v.comment, v.imageUrl, v.createdAt, v.isVisible, " +
+			"n.id, n.title, n.category) " +
+			"FROM VotesAndComments v JOIN v.news n WHERE n.id = :newsId ORDER BY v.id")
+	List<ModerationFeedItem> findFeedItemsByNewsId(@Param("newsId") Long newsId);
+	
+	// Seek-paged feed across all stories, newest first; pass the last seen id as :beforeId.
+	@Query("SELECT new com.checkitoff.checkitoff_backend.dto.ModerationFeedItem(" +
+			"v.id, v.userId, v.name, v.vote, v.comment, v.imageUrl, v.createdAt, v.isVisible, " +
+			"n.id, n.title, n.category) " +
+			"FROM VotesAndComments v JOIN v.news n " +
+			"WHERE (:visible IS NULL OR v.isVisible = :visible) " +
+			"AND (:vote IS NULL OR v.vote = :vote) " +
+			"AND (:newsId IS NULL OR n.id = :newsId) " +
+			"AND (:userId IS NULL OR v.userId = :userId) " +
+			"AND (:beforeId IS NULL OR v.id < :beforeId) " +
+			"ORDER BY v.id DESC")
+	List<ModerationFeedItem> findModerationFeed(@Param("visible") Boolean visible,
+												@Param("vote") VotesAndComments.VoteType vote,
+												@Param("newsId") Long newsId,
+												@Param("userId") Integer userId,
+												@Param("beforeId") Long beforeId,
+												Pageable pageable);
+	
+	@Query("SELECT new com.checkitoff.checkitoff_backend.dto.ModerationFeedItem(" +
+			"v.id, v.userId, v.name, v.vote, v.comment, v.imageUrl, v.createdAt, v.isVisible, " +
+			"n.id, n.title, n.category) " +
+			"FROM VotesAndComments v JOIN v.news n " +
+			"WHERE v.createdAt >= :from AND v.createdAt < :to " +
+			"AND (:newsId IS NULL OR n.id = :newsId) " +
+			"ORDER BY v.createdAt DESC, v.id DESC")
+	List<ModerationFeedItem> findInWindow(@Param("from") Timestamp from,
+										  @Param("to") Timestamp to,
+										  @Param("newsId") Long newsId,
+										  Pageable pageable);
+	
+	@Query("SELECT DISTINCT v.news.id FROM VotesAndComments v WHERE v.isVisible <> :visible AND v.id IN :ids")
+	List<Long> findNewsIdsForVisibilityChange(@Param("ids") Collection<Long> ids, @Param("visible") boolean visible);
+	
+	@Query("SELECT DISTINCT v.news.id FROM VotesAndComments v WHERE v.isVisible <> :visible " +
+			"AND (:userId IS NULL OR v.userId = :userId) " +
+			"AND (:newsId IS NULL OR v.news.id = :newsId)")
+	List<Long> findNewsIdsForVisibilityChange(@Param("userId") Integer userId, @Param("newsId") Long newsId,
+											  @Param("visible") boolean visible);
+	
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query(value = "UPDATE votesandcomments SET is_visible = :visible " +
+			"WHERE is_visible <> :visible AND id IN (:ids)", nativeQuery = true)
+	int updateVisibilityByIds(@Param("ids") Collection<Long> ids, @Param("visible") boolean visible);
+	
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query(value = "UPDATE votesandcomments SET is_visible = :visible " +
+			"WHERE is_visible <> :visible " +
+			"AND (:userId IS NULL OR user_id = :userId) " +
+			"AND (:newsId IS NULL OR news_id = :newsId)", nativeQuery = true)
+	int updateVisibilityByFilter(@Param("userId") Integer userId, @Param("newsId") Long newsId,
+								 @Param("visible") boolean visible);
+	
 }
@@ -0,0 +1,154 @@
+package com.checkitoff.checkitoff_backend.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Gradient-style adaptive concurrency limit for the request tier.
+ * A slow latency average (the "no queueing" baseline) is compared with a fast one; when the fast
+ * one rises above the baseline the limit shrinks proportionally, otherwise it grows by about sqrt(limit).
+ * Completions only add to per-window counters; the limit is recomputed once per window by whichever
+ * request closes it, so the request path never takes a lock.
+ * Priority classes may only use a share of the limit, so admin and vote traffic still get through
+ * when reads saturate it.
+ */
+@Component
+public class AdaptiveConcurrencyLimiter {
+	
+	public enum Priority {
+		ADMIN(1.0), VOTE(0.9), READ(0.75);
+		
+		final double share;
+		
+		Priority(double share) {
+			this.share = share;
+		}
+	}
+	
+	// Smoothing factors are per window, not per request.
+	private static final double SHORT_WINDOW = 0.5;
+	private static final double LONG_WINDOW = 0.05;
+	private static final double SMOOTHING = 0.2;
+	private static final int MIN_WINDOW_SAMPLES = 10;
+	private static final long NO_WINDOW = Long.MIN_VALUE;
+	
+	private final int minLimit;
+	private final int maxLimit;
+	private final long windowNanos;
+	private final AtomicInteger inFlight = new AtomicInteger();
+	private final Map<Priority, LongAdder> rejections = new EnumMap<>(Priority.class);
+	private final Map<Priority, LongAdder> accepted = new EnumMap<>(Priority.class);
+	
+	// Current window; summed and reset by the request that closes it.
+	private final LongAdder windowRttNanos = new LongAdder();
+	private final LongAdder windowSamples = new LongAdder();
+	private final AtomicInteger windowMaxInFlight = new AtomicInteger();
+	private final AtomicLong windowEnd = new AtomicLong(NO_WINDOW);
+	
+	LongSupplier clock = System::nanoTime;
+	
+	private volatile double limit;
+	// Only written by the request that closes a window.
+	private volatile double shortRttNanos;
+	private volatile double longRttNanos;
+	
+	public AdaptiveConcurrencyLimiter(@Value("${checkitoff.limiter.initial-limit:40}") int initialLimit,
+									  @Value("${checkitoff.limiter.min-limit:8}") int minLimit,
+									  @Value("${checkitoff.limiter.max-limit:400}") int maxLimit,
+									  @Value("${checkitoff.limiter.window-ms:100}") long windowMillis) {
+		this.minLimit = minLimit;
+		this.maxLimit = maxLimit;
+		this.windowNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, windowMillis));
+		this.limit = Math.max(minLimit, Math.min(initialLimit, maxLimit));
+		for (Priority priority : Priority.values()) {
+			rejections.put(priority, new LongAdder());
+			accepted.put(priority, new LongAdder());
+		}
+	}
+	
+	public boolean tryAcquire(Priority priority) {
+		int allowed = Math.max(1, (int) (limit * priority.share));
+		while (true) {
+			int current = inFlight.get();
+			if (current >= allowed) {
+				rejections.get(priority).increment();
+				return false;
+			}
+			if (inFlight.compareAndSet(current, current + 1)) {
+				accepted.get(priority).increment();
+				return true;
+			}
+		}
+	}
+	
+	public void release(long rttNanos) {
+		int inFlightBefore = inFlight.getAndDecrement();
+		windowRttNanos.add(rttNanos);
+		windowSamples.increment();
+		windowMaxInFlight.accumulateAndGet(inFlightBefore, Math::max);
+		
+		long now = clock.getAsLong();
+		long end = windowEnd.get();
+		// A window stays open until it has enough samples; exactly one request wins the CAS and closes it.
+		if ((end == NO_WINDOW || now - end >= 0) && windowSamples.sum() >= MIN_WINDOW_SAMPLES
+				&& windowEnd.compareAndSet(end, now + windowNanos)) {
+			long samples = windowSamples.sumThenReset();
+			long rttSum = windowRttNanos.sumThenReset();
+			int maxInFlight = windowMaxInFlight.getAndSet(0);
+			onWindow(rttSum / (double) Math.max(1, samples), maxInFlight);
+		}
+	}
+	
+	private void onWindow(double rttNanos, int maxInFlight) {
+		if (longRttNanos == 0) {
+			shortRttNanos = longRttNanos = rttNanos;
+			return;
+		}
+		double fast = shortRttNanos + (rttNanos - shortRttNanos) * SHORT_WINDOW;
+		double slow = longRttNanos + (rttNanos - longRttNanos) * LONG_WINDOW;
+		
+		// Let the baseline drift down quickly when latency recovers, so one slow spell isn't remembered forever.
+		if (slow > fast * 2) {
+			slow = fast * 1.2;
+		}
+		shortRttNanos = fast;
+		longRttNanos = slow;
+		
+		double gradient = Math.max(0.5, Math.min(1.0, slow / fast));
+		double target = limit * gradient + Math.sqrt(limit);
+		double next = limit * (1 - SMOOTHING) + target * SMOOTHING;
+		
+		// Don't grow the limit while the app isn't using it.
+		if (next > limit && maxInFlight < limit / 2) {
+			return;
+		}
+		limit = Math.max(minLimit, Math.min(maxLimit, next));
+	}
+	
+	public Map<String, Object> metrics() {
+		Map<String, Object> metrics = new LinkedHashMap<>();
+		metrics.put("limit", (int) limit);
+		metrics.put("inFlight", inFlight.get());
+		metrics.put("shortRttMillis", shortRttNanos / 1_000_000.0);
+		metrics.put("longRttMillis", longRttNanos / 1_000_000.0);
+		Map<String, Object> perClass = new LinkedHashMap<>();
+		for (Priority priority : Priority.values()) {
+			Map<String, Object> row = new LinkedHashMap<>();
+			row.put("allowed", Math.max(1, (int) (limit * priority.share)));
+			row.put("accepted", accepted.get(priority).sum());
+			row.put("rejected", rejections.get(priority).sum());
+			perClass.put(priority.name().toLowerCase(), row);
+		}
+		metrics.put("classes", perClass);
+		return metrics;
+	}
+}
@@ -0,0 +1,29 @@
+package com.checkitoff.checkitoff_backend.service;
+
+import com.checkitoff.checkitoff_backend.model.OutboxEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Reclassifies a story once per batch, however many votes / visibility changes it received.
+// Runs on one instance only; a changed category is announced with a NEWS_CHANGED event so the
+// in-memory indexes of every instance pick it up, whichever order they saw the vote in.
+@Component
+public class CategoryOutboxHandler implements OutboxEventHandler {
+	
+	@Autowired
+	private NewsService newsService;
+	
+	@Autowired
+	private OutboxService outboxService;
+	
+	@Override
+	public void handle(Long newsId, List<OutboxEvent> events) {
+		boolean affectsVotes = events.stream()
+				.anyMatch(e -> e.getEventType() != OutboxEvent.EventType.NEWS_CHANGED);
+		if (affectsVotes && newsService.reclassify(newsId)) {
+			outboxService.publish(newsId, OutboxEvent.EventType.NEWS_CHANGED, null);
+		}
+	}
+}
@@ -0,0 +1,65 @@
+package com.checkitoff.checkitoff_backend.service;
+
+import com.checkitoff.checkitoff_backend.dto.BulkVisibilityResult;
+import com.checkitoff.checkitoff_backend.model.News;
+import com.checkitoff.checkitoff_backend.model.OutboxEvent;
+import com.checkitoff.checkitoff_backend.model.VotesAndComments;
+import com.checkitoff.checkitoff_backend.repository.NewsRepository;
+import com.checkitoff.checkitoff_backend.repository.VotesAndCommentsRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+@Service
+public class CommentModerationService {
+	
+	@Autowired
+	private NewsRepository newsRepository;
+	
+	@Autowired
+	private VotesAndCommentsRepository votesRepo;
+	
+	@Autowired
+	private OutboxService outboxService;
+	
+	// Same grouped update as the bulk paths, so a single hide/show counts comments and votes by the same rules.
+	@Transactional
+	public News updateVisibility(Long commentId, boolean isVisible) {
+		VotesAndComments c = votesRepo.findById(commentId)
+				.orElseThrow(() -> new RuntimeException("Comment not found"));
+		Long newsId = c.getNews().getId();
+		
+		setVisibilityByIds(List.of(commentId), isVisible);
+		
+		return newsRepository.findById(newsId)
+				.orElseThrow(() -> new RuntimeException("News not found"));
+	}
+	
+	// Counters are adjusted first: the grouped update only sees rows whose visibility is about to flip.
+	@Transactional
+	public BulkVisibilityResult setVisibilityByIds(Collection<Long> ids, boolean visible) {
+		List<Long> newsIds = votesRepo.findNewsIdsForVisibilityChange(ids, visible);
+		int updatedNews = newsRepository.adjustCountsForCommentIds(ids, visible, visible ? 1 : -1);
+		int updatedComments = votesRepo.updateVisibilityByIds(ids, visible);
+		outboxService.publishAll(newsIds, OutboxEvent.EventType.COMMENT_VISIBILITY_CHANGED,
+				Map.of("bulk", true, "visible", visible));
+		return new BulkVisibilityResult(updatedComments, updatedNews);
+	}
+	
+	@Transactional
+	public BulkVisibilityResult setVisibilityByFilter(Integer userId, Long newsId, boolean visible) {
+		if (userId == null && newsId == null) {
+			throw new IllegalArgumentException("user_id or news_id is required");
+		}
+		List<Long> newsIds = votesRepo.findNewsIdsForVisibilityChange(userId, newsId, visible);
+		int updatedNews = newsRepository.adjustCountsForCommentFilter(userId, newsId, visible, visible ? 1 : -1);
+		int updatedComments = votesRepo.updateVisibilityByFilter(userId, newsId, visible);
+		outboxService.publishAll(newsIds, OutboxEvent.EventType.COMMENT_VISIBILITY_CHANGED,
+				Map.of("bulk", true, "visible", visible));
+		return new BulkVisibilityResult(updatedComments, updatedNews);
+	}
+}
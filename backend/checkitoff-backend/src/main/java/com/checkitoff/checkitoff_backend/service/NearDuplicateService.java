@@ -0,0 +1,291 @@
+package com.checkitoff.checkitoff_backend.service;
+
+import com.checkitoff.checkitoff_backend.dto.NearDuplicate;
+import com.checkitoff.checkitoff_backend.dto.NewsSummary;
+import com.checkitoff.checkitoff_backend.model.News;
+import com.checkitoff.checkitoff_backend.model.OutboxEvent;
+import com.checkitoff.checkitoff_backend.repository.NewsRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongSupplier;
+
+/**
+ * In-memory near-duplicate index over news title + description.
+ * Text is cut into character shingles, reduced to a MinHash signature and bucketed
+ * with LSH (BANDS x ROWS), so a lookup only compares against stories sharing a bucket.
+ * Each entry also keeps the title and category, so lookups never go back to the database;
+ * the outbox keeps categories current after reclassification. Stories whose text normalizes
+ * to nothing have no signature and are neither indexed nor matched.
+ * Story creation runs the classified check on the request thread, so every check stops comparing
+ * candidates once it has used check-budget-ms and returns what it found so far; metrics() reports
+ * how often that happens and how long checks take.
+ */
+@Service
+public class NearDuplicateService implements OutboxEventHandler {
+	
+	private static final Logger log = LoggerFactory.getLogger(NearDuplicateService.class);
+	
+	private static final int SHINGLE_SIZE = 5;
+	private static final int BANDS = 32;
+	private static final int ROWS = 4;
+	private static final int NUM_HASHES = BANDS * ROWS;
+	// Candidates compared between clock reads; a power of two.
+	private static final int BUDGET_CHECK_EVERY = 16;
+	
+	private static final long[] SEEDS_A = new long[NUM_HASHES];
+	private static final long[] SEEDS_B = new long[NUM_HASHES];
+	
+	static {
+		SplittableRandom random = new SplittableRandom(0x5EED_C4EC_17L);
+		for (int i = 0; i < NUM_HASHES; i++) {
+			SEEDS_A[i] = random.nextLong() | 1L;
+			SEEDS_B[i] = random.nextLong();
+		}
+	}
+	
+	@Autowired
+	private NewsRepository newsRepository;
+	
+	@Value("${checkitoff.dedup.similarity-threshold:0.6}")
+	private double similarityThreshold;
+	
+	@Value("${checkitoff.dedup.check-budget-ms:20}")
+	private long checkBudgetMillis;
+	
+	LongSupplier clock = System::nanoTime;
+	
+	private final LongAdder checks = new LongAdder();
+	private final LongAdder checkNanos = new LongAdder();
+	private final LongAdder overBudget = new LongAdder();
+	private final AtomicLong maxCheckNanos = new AtomicLong();
+	
+	private final Map<Long, Entry> entries = new HashMap<>();
+	private final Map<Long, List<Long>> buckets = new HashMap<>();
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+	
+	@EventListener(ApplicationReadyEvent.class)
+	public void rebuild() {
+		List<NewsSummary> allNews = newsRepository.findAllSummaries();
+		lock.writeLock().lock();
+		try {
+			entries.clear();
+			buckets.clear();
+			for (NewsSummary news : allNews) {
+				int[] signature = signatureOf(news.title(), news.description());
+				if (signature != null) {
+					insert(news.id(), new Entry(signature, news.title(), news.category()));
+				}
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+	
+	public void index(News news) {
+		int[] signature = signatureOf(news.getTitle(), news.getDescription());
+		lock.writeLock().lock();
+		try {
+			remove(news.getId());
+			if (signature != null) {
+				insert(news.getId(), new Entry(signature, news.getTitle(), news.getCategory()));
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+	
+	public void evict(Long newsId) {
+		lock.writeLock().lock();
+		try {
+			remove(newsId);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+	
+	// Picks up edits, reclassification and deletes made elsewhere.
+	@Override
+	public boolean perInstance() {
+		return true;
+	}
+	
+	@Override
+	public void handle(Long newsId, List<OutboxEvent> events) {
+		newsRepository.findById(newsId).ifPresentOrElse(this::index, () -> evict(newsId));
+	}
+	
+	// Near-duplicates of an indexed story, most similar first.
+	public List<NearDuplicate> findNearDuplicates(Long newsId) {
+		int[] signature;
+		lock.readLock().lock();
+		try {
+			Entry entry = entries.get(newsId);
+			signature = entry != null ? entry.signature() : null;
+		} finally {
+			lock.readLock().unlock();
+		}
+		if (signature == null) {
+			return List.of();
+		}
+		return candidates(newsId, signature, null);
+	}
+	
+	// Checks an incoming story against Verified / Fake News stories only.
+	public List<NearDuplicate> findClassifiedDuplicates(News news) {
+		int[] signature = signatureOf(news.getTitle(), news.getDescription());
+		if (signature == null) {
+			return List.of();
+		}
+		return candidates(news.getId(), signature, Set.of("verified", "fake news"));
+	}
+	
+	public Map<String, Object> metrics() {
+		long count = checks.sum();
+		Map<String, Object> metrics = new LinkedHashMap<>();
+		metrics.put("checks", count);
+		metrics.put("overBudget", overBudget.sum());
+		metrics.put("budgetMillis", checkBudgetMillis);
+		metrics.put("meanCheckMillis", count > 0 ? checkNanos.sum() / 1_000_000.0 / count : 0.0);
+		metrics.put("maxCheckMillis", maxCheckNanos.get() / 1_000_000.0);
+		lock.readLock().lock();
+		try {
+			metrics.put("indexed", entries.size());
+			metrics.put("buckets", buckets.size());
+		} finally {
+			lock.readLock().unlock();
+		}
+		return metrics;
+	}
+	
+	private List<NearDuplicate> candidates(Long selfId, int[] signature, Set<String> categories) {
+		long start = clock.getAsLong();
+		long deadline = start + checkBudgetMillis * 1_000_000;
+		boolean truncated = false;
+		List<NearDuplicate> result = new ArrayList<>();
+		Set<Long> seen = new HashSet<>();
+		lock.readLock().lock();
+		try {
+			scan:
+			for (int band = 0; band < BANDS; band++) {
+				List<Long> bucket = buckets.get(bucketKey(band, signature));
+				if (bucket == null) continue;
+				for (Long candidateId : bucket) {
+					if (candidateId.equals(selfId) || !seen.add(candidateId)) continue;
+					if ((seen.size() & (BUDGET_CHECK_EVERY - 1)) == 0 && clock.getAsLong() > deadline) {
+						truncated = true;
+						break scan;
+					}
+					Entry candidate = entries.get(candidateId);
+					String category = candidate.category();
+					if (categories != null && (category == null || !categories.contains(category.toLowerCase()))) {
+						continue;
+					}
+					double similarity = estimateSimilarity(signature, candidate.signature());
+					if (similarity >= similarityThreshold) {
+						result.add(new NearDuplicate(candidateId, candidate.title(), category, similarity));
+					}
+				}
+			}
+		} finally {
+			lock.readLock().unlock();
+		}
+		record(clock.getAsLong() - start, truncated);
+		result.sort(Comparator.comparingDouble(NearDuplicate::similarity).reversed());
+		return result;
+	}
+	
+	private void record(long elapsedNanos, boolean truncated) {
+		checks.increment();
+		checkNanos.add(elapsedNanos);
+		maxCheckNanos.accumulateAndGet(elapsedNanos, Math::max);
+		if (truncated) {
+			overBudget.increment();
+			log.warn("Near-duplicate check stopped after {} ms with candidates left unchecked", elapsedNanos / 1_000_000);
+		}
+	}
+	
+	private void insert(Long newsId, Entry entry) {
+		entries.put(newsId, entry);
+		for (int band = 0; band < BANDS; band++) {
+			buckets.computeIfAbsent(bucketKey(band, entry.signature()), k -> new ArrayList<>(2)).add(newsId);
+		}
+	}
+	
+	private void remove(Long newsId) {
+		Entry old = entries.remove(newsId);
+		if (old == null) return;
+		for (int band = 0; band < BANDS; band++) {
+			long key = bucketKey(band, old.signature());
+			List<Long> bucket = buckets.get(key);
+			if (bucket != null) {
+				bucket.remove(newsId);
+				if (bucket.isEmpty()) buckets.remove(key);
+			}
+		}
+	}
+	
+	private static double estimateSimilarity(int[] a, int[] b) {
+		int same = 0;
+		for (int i = 0; i < NUM_HASHES; i++) {
+			if (a[i] == b[i]) same++;
+		}
+		return (double) same / NUM_HASHES;
+	}
+	
+	private static long bucketKey(int band, int[] signature) {
+		long h = band;
+		for (int r = 0; r < ROWS; r++) {
+			h = h * 0x9E3779B97F4A7C15L + signature[band * ROWS + r];
+		}
+		return mix(h);
+	}
+	
+	// Null when there is no text to shingle: an all-MAX_VALUE signature would match every other empty story.
+	private static int[] signatureOf(String title, String description) {
+		String text = TextNormalizer.normalize((title != null ? title : "") + " " + (description != null ? description : ""));
+		if (text.isEmpty()) {
+			return null;
+		}
+		
+		int[] signature = new int[NUM_HASHES];
+		Arrays.fill(signature, Integer.MAX_VALUE);
+		int last = Math.max(1, text.length() - SHINGLE_SIZE + 1);
+		for (int start = 0; start < last; start++) {
+			long shingle = shingleHash(text, start, Math.min(text.length(), start + SHINGLE_SIZE));
+			for (int i = 0; i < NUM_HASHES; i++) {
+				int h = (int) (mix(shingle * SEEDS_A[i] + SEEDS_B[i]) >>> 32);
+				if (h < signature[i]) signature[i] = h;
+			}
+		}
+		return signature;
+	}
+	
+	private static long shingleHash(String text, int from, int to) {
+		long h = 0xcbf29ce484222325L;
+		for (int i = from; i < to; i++) {
+			h ^= text.charAt(i);
+			h *= 0x100000001b3L;
+		}
+		return h;
+	}
+	
+	private static long mix(long z) {
+		z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+		z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+		return z ^ (z >>> 33);
+	}
+	
+	private record Entry(int[] signature, String title, String category) {
+	}
+}
@@ -0,0 +1,189 @@
+package com.checkitoff.checkitoff_backend.service;
+
+import com.checkitoff.checkitoff_backend.model.News;
+import com.checkitoff.checkitoff_backend.model.OutboxEvent;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.scheduling.support.CronTrigger;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Moves stories older than the retention window, together with their votes, into
+ * news_archive / votesandcomments_archive so the hot tables only hold recent data.
+ * The archive tables come from the V4 migration (CREATE TABLE ... LIKE); without them archiving is
+ * skipped. Rows are copied using the columns both tables share, so a column added to the hot table
+ * later does not break archiving, and read back by name, so a column added to the archive does not
+ * break reads either.
+ * Stories are selected by published_at, so rows without one are never archived.
+ * The nightly job is opt-in (checkitoff.archive.enabled) and runs on its own scheduler thread,
+ * so a long run never holds up the outbox dispatcher on the shared scheduler.
+ */
+@Service
+public class NewsArchiveService {
+	
+	private static final Logger log = LoggerFactory.getLogger(NewsArchiveService.class);
+	private static final int BATCH_SIZE = 500;
+	
+	private static final String NEWS_COLUMNS = "id, title, category, description, fulldescription, author, date, image, " +
+			"published_at, up_votes, down_votes, comments_count, visible";
+	private static final String VOTE_COLUMNS = "id, news_id, user_id, name, vote, up_votes, down_votes, comment, " +
+			"image_url, created_at, is_visible";
+	
+	private static final RowMapper<News> NEWS_ROW = (rs, rowNum) -> {
+		News news = new News();
+		news.setId(rs.getLong("id"));
+		news.setTitle(rs.getString("title"));
+		news.setCategory(rs.getString("category"));
+		news.setDescription(rs.getString("description"));
+		news.setFullDescription(rs.getString("fulldescription"));
+		news.setAuthor(rs.getString("author"));
+		news.setDate(rs.getString("date"));
+		news.setImage(rs.getString("image"));
+		news.setPublishedAt(rs.getObject("published_at", LocalDateTime.class));
+		news.setUpVotes(rs.getObject("up_votes", Integer.class));
+		news.setDownVotes(rs.getObject("down_votes", Integer.class));
+		news.setCommentsCount(rs.getObject("comments_count", Integer.class));
+		news.setVisible(rs.getObject("visible", Boolean.class));
+		return news;
+	};
+	
+	@Autowired
+	private NamedParameterJdbcTemplate jdbc;
+	
+	@Autowired
+	private OutboxService outboxService;
+	
+	@Autowired
+	private NearDuplicateService nearDuplicateService;
+	
+	@Autowired
+	private SuggestionIndex suggestionIndex;
+	
+	@Autowired
+	private NewsReadModel newsReadModel;
+	
+	@Value("${checkitoff.archive.enabled:false}")
+	private boolean enabled;
+	
+	@Value("${checkitoff.archive.cron:0 30 3 * * *}")
+	private String cron;
+	
+	@Value("${checkitoff.archive.retention-days:365}")
+	private int retentionDays;
+	
+	private final TransactionTemplate transactionTemplate;
+	private final ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+	
+	public NewsArchiveService(PlatformTransactionManager transactionManager) {
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+	}
+	
+	@EventListener(ApplicationReadyEvent.class)
+	public void scheduleArchiving() {
+		if (!enabled) return;
+		scheduler.setPoolSize(1);
+		scheduler.setThreadNamePrefix("news-archive-");
+		scheduler.initialize();
+		scheduler.schedule(this::archiveExpired, new CronTrigger(cron));
+		log.info("News archiving scheduled ({}), retention {} days", cron, retentionDays);
+	}
+	
+	@PreDestroy
+	public void shutdown() {
+		scheduler.shutdown();
+	}
+	
+	public void archiveExpired() {
+		int archived = archiveOlderThan(LocalDateTime.now().minusDays(retentionDays));
+		if (archived > 0) {
+			log.info("Archived {} news older than {} days", archived, retentionDays);
+		}
+	}
+	
+	public int archiveOlderThan(LocalDateTime cutoff) {
+		if (!archiveExists()) {
+			log.warn("Archive tables are missing; run the migrations (prod profile) before archiving");
+			return 0;
+		}
+		String newsColumns = sharedColumns("news", "news_archive");
+		String voteColumns = sharedColumns("votesandcomments", "votesandcomments_archive");
+		
+		int total = 0;
+		while (true) {
+			List<Long> moved = transactionTemplate.execute(status -> {
+				List<Long> ids = jdbc.queryForList(
+						"SELECT id FROM news WHERE published_at < :cutoff ORDER BY id LIMIT " + BATCH_SIZE,
+						Map.of("cutoff", cutoff), Long.class);
+				if (ids.isEmpty()) return ids;
+				
+				MapSqlParameterSource params = new MapSqlParameterSource("ids", ids);
+				jdbc.update("INSERT IGNORE INTO news_archive (" + newsColumns + ") " +
+						"SELECT " + newsColumns + " FROM news WHERE id IN (:ids)", params);
+				jdbc.update("INSERT IGNORE INTO votesandcomments_archive (" + voteColumns + ") " +
+						"SELECT " + voteColumns + " FROM votesandcomments WHERE news_id IN (:ids)", params);
+				jdbc.update("DELETE FROM votesandcomments WHERE news_id IN (:ids)", params);
+				jdbc.update("DELETE FROM news WHERE id IN (:ids)", params);
+				
+				outboxService.publishAll(ids, OutboxEvent.EventType.NEWS_CHANGED, Map.of("action", "archived"));
+				return ids;
+			});
+			if (moved == null || moved.isEmpty()) break;
+			// Drop the rows from the in-memory indexes now rather than waiting for the outbox.
+			for (Long id : moved) {
+				nearDuplicateService.evict(id);
+				suggestionIndex.evict(id);
+				newsReadModel.remove(id);
+			}
+			total += moved.size();
+		}
+		return total;
+	}
+	
+	public Optional<News> findArchivedNews(Long id) {
+		if (!archiveExists()) return Optional.empty();
+		List<News> rows = jdbc.query("SELECT " + NEWS_COLUMNS + " FROM news_archive WHERE id = :id",
+				Map.of("id", id), NEWS_ROW);
+		return rows.stream().findFirst();
+	}
+	
+	public List<Map<String, Object>> findArchivedVotes(Long newsId) {
+		if (!archiveExists()) return List.of();
+		return jdbc.queryForList("SELECT " + VOTE_COLUMNS + " FROM votesandcomments_archive " +
+				"WHERE news_id = :newsId ORDER BY id", Map.of("newsId", newsId));
+	}
+	
+	private boolean archiveExists() {
+		Integer count = jdbc.queryForObject(
+				"SELECT COUNT(*) FROM information_schema.tables " +
+						"WHERE table_schema = DATABASE() AND table_name IN ('news_archive', 'votesandcomments_archive')",
+				Map.of(), Integer.class);
+		return count != null && count == 2;
+	}
+	
+	private String sharedColumns(String table, String archiveTable) {
+		List<String> columns = jdbc.queryForList(
+				"SELECT c.column_name FROM information_schema.columns c " +
+						"JOIN information_schema.columns a ON a.table_schema = c.table_schema " +
+						"AND a.table_name = :archiveTable AND a.column_name = c.column_name " +
+						"WHERE c.table_schema = DATABASE() AND c.table_name = :table " +
+						"ORDER BY c.ordinal_position",
+				Map.of("table", table, "archiveTable", archiveTable), String.class);
+		return String.join(", ", columns.stream().map(c -> "`" + c + "`").toList());
+	}
+}
@@ -0,0 +1,575 @@
+package com.checkitoff.checkitoff_backend.service;
+
+import com.checkitoff.checkitoff_backend.dto.NewsSummary;
+import com.checkitoff.checkitoff_backend.model.News;
+import com.checkitoff.checkitoff_backend.model.OutboxEvent;
+import com.checkitoff.checkitoff_backend.repository.NewsRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Column-oriented, in-memory copy of every story's summary (no fullDescription).
+ * Rows are kept sorted by id in parallel primitive arrays; repeated strings (authors, dates,
+ * categories) are interned through one pool. Kept current from the outbox, and serves the feed,
+ * stats and category endpoints without loading JPA entities. The fullDescription of recently opened
+ * stories is kept in a small LRU next to it, so /api/news/{id} is answered from memory too.
+ * Off unless checkitoff.read-model.enabled is set, since it holds every story in the heap;
+ * callers fall back to JPA while {@link #isReady()} is false.
+ */
+@Component
+public class NewsReadModel implements OutboxEventHandler {
+	
+	private static final Logger log = LoggerFactory.getLogger(NewsReadModel.class);
+	
+	private static final int INITIAL_CAPACITY = 256;
+	private static final long NO_TIMESTAMP = Long.MIN_VALUE;
+	private static final byte NO_CATEGORY = -1;
+	private static final long RECONCILE_RETRY_SECONDS = 5;
+	private static final long RECONCILE_MAX_RETRY_SECONDS = 300;
+	
+	// Fixed codes for the three workflow categories; anything else gets a code on first sight.
+	private static final List<String> BUILT_IN_CATEGORIES = List.of("Unverified", "Verified", "Fake News");
+	
+	@Autowired
+	private NewsRepository newsRepository;
+	
+	@Value("${checkitoff.read-model.enabled:false}")
+	private boolean enabled;
+	
+	@Value("${checkitoff.read-model.detail-cache-size:1000}")
+	private int detailCacheSize = 1000;
+	
+	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+	private final Map<String, String> stringPool = new HashMap<>();
+	private final List<String> categories = new ArrayList<>(BUILT_IN_CATEGORIES);
+	
+	// Access-ordered; guarded by its own monitor. detailEpoch moves on every invalidation so a
+	// description read from MySQL before an edit is not cached after the edit's upsert.
+	private final LinkedHashMap<Long, String> fullDescriptions = new LinkedHashMap<>(16, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Long, String> eldest) {
+			return size() > detailCacheSize;
+		}
+	};
+	private long detailEpoch;
+	
+	// Outbox changes applied while a background reconcile is reading MySQL, replayed over its
+	// result so they are not lost; null values are removals. Non-null only during a reconcile.
+	private Map<Long, NewsSummary> reconcileJournal;
+	
+	// Highest outbox event id whose reload has been applied. A vote delta from an older event is
+	// already in the reloaded counters, so applyVote skips it.
+	private long reloadedEventId;
+	
+	private volatile boolean ready;
+	private int size;
+	private long[] ids = new long[INITIAL_CAPACITY];
+	private int[] upVotes = new int[INITIAL_CAPACITY];
+	private int[] downVotes = new int[INITIAL_CAPACITY];
+	private int[] commentsCounts = new int[INITIAL_CAPACITY];
+	private byte[] categoryCodes = new byte[INITIAL_CAPACITY];
+	private long[] publishedAt = new long[INITIAL_CAPACITY];
+	private BitSet visible = new BitSet(INITIAL_CAPACITY);
+	private String[] titles = new String[INITIAL_CAPACITY];
+	private String[] descriptions = new String[INITIAL_CAPACITY];
+	private String[] authors = new String[INITIAL_CAPACITY];
+	private String[] dates = new String[INITIAL_CAPACITY];
+	private String[] images = new String[INITIAL_CAPACITY];
+	
+	// When a warm-restart snapshot was loaded, serve it and reconcile with the database in the background.
+	@EventListener(ApplicationReadyEvent.class)
+	public void rebuild() {
+		if (!enabled) return;
+		if (ready) {
+			beginReconcile();
+			reconcile(1);
+		} else {
+			install(newsRepository.findAllSummaries());
+		}
+	}
+	
+	// Retried with backoff until it succeeds; the snapshot (kept current by the outbox) is served meanwhile.
+	private void reconcile(int attempt) {
+		long delay = attempt == 1 ? 0 : retryDelaySeconds(attempt - 1);
+		CompletableFuture.runAsync(() -> finishReconcile(newsRepository.findAllSummaries()),
+						CompletableFuture.delayedExecutor(delay, TimeUnit.SECONDS))
+				.exceptionally(e -> {
+					log.warn("Reconciling the news read model with the database failed (attempt {}), retrying in {}s",
+							attempt, retryDelaySeconds(attempt), e);
+					reconcile(attempt + 1);
+					return null;
+				});
+	}
+	
+	private static long retryDelaySeconds(int failures) {
+		return Math.min(RECONCILE_RETRY_SECONDS << Math.min(failures - 1, 16), RECONCILE_MAX_RETRY_SECONDS);
+	}
+	
+	void beginReconcile() {
+		lock.writeLock().lock();
+		try {
+			reconcileJournal = new HashMap<>();
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+	
+	void finishReconcile(List<NewsSummary> rows) {
+		lock.writeLock().lock();
+		try {
+			install(rows);
+			Map<Long, NewsSummary> journal = reconcileJournal;
+			reconcileJournal = null;
+			if (journal != null) {
+				journal.forEach((id, row) -> {
+					if (row != null) applyUpsert(row);
+					else applyRemove(id);
+				});
+			}
+			log.info("Reconciled news read model with the database: {} rows, {} replayed changes",
+					size, journal != null ? journal.size() : 0);
+		} finally {
+			lock.writeLock().unlock();
+		}
+		// The snapshot's cached descriptions may predate edits made while this instance was down.
+		synchronized (fullDescriptions) {
+			fullDescriptions.clear();
+			detailEpoch++;
+		}
+	}
+	
+	public boolean isReady() {
+		return enabled && ready;
+	}
+	
+	public boolean isEnabled() {
+		return enabled;
+	}
+	
+	public void load(Collection<News> allNews) {
+		install(allNews.stream().map(NewsReadModel::summarize).toList());
+	}
+	
+	private void install(List<NewsSummary> rows) {
+		List<NewsSummary> sorted = new ArrayList<>(rows);
+		sorted.sort(Comparator.comparing(NewsSummary::id));
+		lock.writeLock().lock();
+		try {
+			size = 0;
+			visible.clear();
+			Arrays.fill(titles, null);
+			Arrays.fill(descriptions, null);
+			Arrays.fill(authors, null);
+			Arrays.fill(dates, null);
+			Arrays.fill(images, null);
+			stringPool.clear();
+			ensureCapacity(sorted.size());
+			for (NewsSummary row : sorted) {
+				write(size++, row);
+			}
+			ready = true;
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+	
+	@Override
+	public boolean perInstance() {
+		return true;
+	}
+	
+	@Override
+	public void handle(Long newsId, List<OutboxEvent> events) {
+		if (!enabled) return;
+		long lastEventId = 0;
+		for (OutboxEvent event : events) {
+			if (event.getId() != null) lastEventId = Math.max(lastEventId, event.getId());
+		}
+		Optional<News> news = newsRepository.findById(newsId);
+		if (news.isPresent()) upsert(news.get(), lastEventId);
+		else remove(newsId, lastEventId);
+	}
+	
+	public void upsert(News news) {
+		upsert(news, 0);
+	}
+	
+	private void upsert(News news, long eventId) {
+		NewsSummary row = summarize(news);
+		lock.writeLock().lock();
+		try {
+			if (reconcileJournal != null) reconcileJournal.put(row.id(), row);
+			applyUpsert(row);
+			reloadedEventId = Math.max(reloadedEventId, eventId);
+		} finally {
+			lock.writeLock().unlock();
+		}
+		synchronized (fullDescriptions) {
+			if (fullDescriptions.containsKey(news.getId())) fullDescriptions.put(news.getId(), news.getFullDescription());
+			detailEpoch++;
+		}
+	}
+	
+	public void remove(Long newsId) {
+		remove(newsId, 0);
+	}
+	
+	private void remove(Long newsId, long eventId) {
+		lock.writeLock().lock();
+		try {
+			if (reconcileJournal != null) reconcileJournal.put(newsId, null);
+			applyRemove(newsId);
+			reloadedEventId = Math.max(reloadedEventId, eventId);
+		} finally {
+			lock.writeLock().unlock();
+		}
+		synchronized (fullDescriptions) {
+			fullDescriptions.remove(newsId);
+			detailEpoch++;
+		}
+	}
+	
+	// Counter deltas of a committed vote, applied on the voting thread so the voter sees them at once
+	// rather than after the outbox. The event's own reload then overwrites them with the stored counts.
+	public void applyVote(Long newsId, long eventId, int up, int down, int comments) {
+		if (!enabled) return;
+		lock.writeLock().lock();
+		try {
+			if (eventId <= reloadedEventId) return;
+			int slot = Arrays.binarySearch(ids, 0, size, newsId);
+			if (slot < 0) return;
+			upVotes[slot] += up;
+			downVotes[slot] += down;
+			commentsCounts[slot] += comments;
+			if (reconcileJournal != null) reconcileJournal.put(newsId, read(slot));
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+	
+	private void applyUpsert(NewsSummary row) {
+		int slot = Arrays.binarySearch(ids, 0, size, row.id());
+		if (slot < 0) {
+			slot = -slot - 1;
+			ensureCapacity(size + 1);
+			shift(slot, slot + 1, size - slot);
+			size++;
+		}
+		write(slot, row);
+	}
+	
+	private void applyRemove(long newsId) {
+		int slot = Arrays.binarySearch(ids, 0, size, newsId);
+		if (slot < 0) return;
+		shift(slot + 1, slot, size - slot - 1);
+		size--;
+		visible.clear(size);
+		titles[size] = descriptions[size] = authors[size] = dates[size] = images[size] = null;
+	}
+	
+	// Visible stories, newest id first; pass the last returned id as beforeId for the next page.
+	public List<NewsSummary> feed(String category, Long beforeId, int limit) {
+		lock.readLock().lock();
+		try {
+			int code = category != null ? codeOf(category) : -1;
+			if (category != null && code < 0) return List.of();
+			
+			int start = beforeId != null ? insertionPoint(beforeId) - 1 : size - 1;
+			List<NewsSummary> result = new ArrayList<>(Math.min(limit, Math.max(0, start + 1)));
+			for (int i = start; i >= 0 && result.size() < limit; i--) {
+				if (!visible.get(i)) continue;
+				if (code >= 0 && categoryCodes[i] != code) continue;
+				result.add(read(i));
+			}
+			return result;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+	
+	public Optional<NewsSummary> find(Long newsId) {
+		lock.readLock().lock();
+		try {
+			int slot = Arrays.binarySearch(ids, 0, size, newsId);
+			return slot >= 0 ? Optional.of(read(slot)) : Optional.empty();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+	
+	// The story as /api/news/{id} returns it: the summary plus its fullDescription, loaded on first use.
+	public Optional<News> findDetail(Long newsId) {
+		Optional<NewsSummary> summary = find(newsId);
+		if (summary.isEmpty()) return Optional.empty();
+		
+		String fullDescription;
+		long epoch;
+		synchronized (fullDescriptions) {
+			fullDescription = fullDescriptions.get(newsId);
+			if (fullDescription != null || fullDescriptions.containsKey(newsId)) {
+				return Optional.of(toNews(summary.get(), fullDescription));
+			}
+			epoch = detailEpoch;
+		}
+		fullDescription = newsRepository.findFullDescriptionById(newsId).orElse(null);
+		synchronized (fullDescriptions) {
+			if (epoch == detailEpoch) fullDescriptions.put(newsId, fullDescription);
+		}
+		return Optional.of(toNews(summary.get(), fullDescription));
+	}
+	
+	// Cached descriptions, least recently used first (used for snapshots).
+	public Map<Long, String> exportFullDescriptions() {
+		synchronized (fullDescriptions) {
+			return new LinkedHashMap<>(fullDescriptions);
+		}
+	}
+	
+	public void cacheFullDescriptions(Map<Long, String> cached) {
+		synchronized (fullDescriptions) {
+			fullDescriptions.putAll(cached);
+			detailEpoch++;
+		}
+	}
+	
+	// Same numbers as the JPA stats endpoint: every story, hidden included. Like
+	// countByCategoryIgnoreCase, a story without a category is in the total but in no bucket.
+	public Map<String, Long> stats() {
+		lock.readLock().lock();
+		try {
+			long[] perCode = new long[categories.size()];
+			for (int i = 0; i < size; i++) {
+				if (categoryCodes[i] != NO_CATEGORY) perCode[categoryCodes[i]]++;
+			}
+			Map<String, Long> stats = new HashMap<>();
+			stats.put("total", (long) size);
+			stats.put("unverified", perCode[0]);
+			stats.put("verified", perCode[1]);
+			stats.put("fake", perCode[2]);
+			return stats;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+	
+	public Map<String, Long> categoryTotals() {
+		lock.readLock().lock();
+		try {
+			long[] perCode = new long[categories.size()];
+			for (int i = 0; i < size; i++) {
+				if (visible.get(i) && categoryCodes[i] != NO_CATEGORY) perCode[categoryCodes[i]]++;
+			}
+			Map<String, Long> totals = new LinkedHashMap<>();
+			for (int code = 0; code < perCode.length; code++) {
+				totals.put(categories.get(code), perCode[code]);
+			}
+			return totals;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+	
+	// Estimated heap footprint: primitive columns at their used length plus each pooled string once.
+	public Map<String, Object> memoryReport() {
+		lock.readLock().lock();
+		try {
+			long referenceSize = 4; // compressed oops
+			long columnBytes = (long) size * (8 + 4 + 4 + 4 + 1 + 8) + size / 8 + 5L * size * referenceSize;
+			
+			Set<String> distinct = Collections.newSetFromMap(new IdentityHashMap<>());
+			for (String[] column : List.of(titles, descriptions, authors, dates, images)) {
+				for (int i = 0; i < size; i++) {
+					if (column[i] != null) distinct.add(column[i]);
+				}
+			}
+			long stringBytes = 0;
+			for (String s : distinct) {
+				stringBytes += stringBytes(s);
+			}
+			
+			Map<String, Object> report = new LinkedHashMap<>();
+			report.put("stories", size);
+			report.put("columnBytes", columnBytes);
+			report.put("stringBytes", stringBytes);
+			report.put("distinctStrings", distinct.size());
+			report.put("totalBytes", columnBytes + stringBytes);
+			report.put("bytesPerStory", size > 0 ? (columnBytes + stringBytes) / size : 0);
+			report.put("columnBytesPerStory", size > 0 ? columnBytes / size : 0);
+			return report;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+	
+	// Every row, hidden included, in id order (used for snapshots).
+	public List<NewsSummary> exportAll() {
+		lock.readLock().lock();
+		try {
+			List<NewsSummary> rows = new ArrayList<>(size);
+			for (int i = 0; i < size; i++) {
+				rows.add(read(i));
+			}
+			return rows;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+	
+	public int size() {
+		lock.readLock().lock();
+		try {
+			return size;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+	
+	private void write(int slot, NewsSummary row) {
+		ids[slot] = row.id();
+		upVotes[slot] = row.upVotes() != null ? row.upVotes() : 0;
+		downVotes[slot] = row.downVotes() != null ? row.downVotes() : 0;
+		commentsCounts[slot] = row.commentsCount() != null ? row.commentsCount() : 0;
+		categoryCodes[slot] = row.category() != null ? (byte) codeOrRegister(row.category()) : NO_CATEGORY;
+		publishedAt[slot] = row.publishedAt() != null
+				? row.publishedAt().toInstant(ZoneOffset.UTC).toEpochMilli()
+				: NO_TIMESTAMP;
+		visible.set(slot, !Boolean.FALSE.equals(row.visible()));
+		titles[slot] = row.title();
+		descriptions[slot] = row.description();
+		authors[slot] = intern(row.author());
+		dates[slot] = intern(row.date());
+		images[slot] = intern(row.image());
+	}
+	
+	private static NewsSummary summarize(News news) {
+		return new NewsSummary(news.getId(), news.getTitle(), news.getCategory(), news.getDescription(),
+				news.getAuthor(), news.getDate(), news.getImage(), news.getPublishedAt(),
+				news.getUpVotes(), news.getDownVotes(), news.getCommentsCount(), news.getVisible());
+	}
+	
+	private static News toNews(NewsSummary row, String fullDescription) {
+		News news = new News();
+		news.setId(row.id());
+		news.setTitle(row.title());
+		news.setCategory(row.category());
+		news.setDescription(row.description());
+		news.setFullDescription(fullDescription);
+		news.setAuthor(row.author());
+		news.setDate(row.date());
+		news.setImage(row.image());
+		news.setPublishedAt(row.publishedAt());
+		news.setUpVotes(row.upVotes());
+		news.setDownVotes(row.downVotes());
+		news.setCommentsCount(row.commentsCount());
+		news.setVisible(row.visible());
+		return news;
+	}
+	
+	private NewsSummary read(int slot) {
+		return new NewsSummary(
+				ids[slot],
+				titles[slot],
+				categoryCodes[slot] != NO_CATEGORY ? categories.get(categoryCodes[slot]) : null,
+				descriptions[slot],
+				authors[slot],
+				dates[slot],
+				images[slot],
+				publishedAt[slot] != NO_TIMESTAMP
+						? LocalDateTime.ofInstant(Instant.ofEpochMilli(publishedAt[slot]), ZoneOffset.UTC)
+						: null,
+				upVotes[slot],
+				downVotes[slot],
+				commentsCounts[slot],
+				visible.get(slot)
+		);
+	}
+	
+	private int insertionPoint(long id) {
+		int slot = Arrays.binarySearch(ids, 0, size, id);
+		return slot >= 0 ? slot : -slot - 1;
+	}
+	
+	private int codeOf(String category) {
+		for (int code = 0; code < categories.size(); code++) {
+			if (categories.get(code).equalsIgnoreCase(category)) return code;
+		}
+		return -1;
+	}
+	
+	private int codeOrRegister(String category) {
+		int code = codeOf(category);
+		if (code >= 0) return code;
+		if (categories.size() >= Byte.MAX_VALUE) {
+			throw new IllegalStateException("Too many distinct categories for the read model");
+		}
+		categories.add(intern(category));
+		return categories.size() - 1;
+	}
+	
+	private String intern(String value) {
+		if (value == null) return null;
+		return stringPool.computeIfAbsent(value, v -> v);
+	}
+	
+	private void shift(int from, int to, int length) {
+		if (length <= 0) return;
+		System.arraycopy(ids, from, ids, to, length);
+		System.arraycopy(upVotes, from, upVotes, to, length);
+		System.arraycopy(downVotes, from, downVotes, to, length);
+		System.arraycopy(commentsCounts, from, commentsCounts, to, length);
+		System.arraycopy(categoryCodes, from, categoryCodes, to, length);
+		System.arraycopy(publishedAt, from, publishedAt, to, length);
+		System.arraycopy(titles, from, titles, to, length);
+		System.arraycopy(descriptions, from, descriptions, to, length);
+		System.arraycopy(authors, from, authors, to, length);
+		System.arraycopy(dates, from, dates, to, length);
+		System.arraycopy(images, from, images, to, length);
+		BitSet moved = visible.get(from, from + length);
+		visible.clear(Math.min(from, to), Math.max(from, to) + length);
+		for (int bit = moved.nextSetBit(0); bit >= 0; bit = moved.nextSetBit(bit + 1)) {
+			visible.set(to + bit);
+		}
+	}
+	
+	private void ensureCapacity(int required) {
+		if (required <= ids.length) return;
+		int capacity = Math.max(required, ids.length + (ids.length >> 1));
+		ids = Arrays.copyOf(ids, capacity);
+		upVotes = Arrays.copyOf(upVotes, capacity);
+		downVotes = Arrays.copyOf(downVotes, capacity);
+		commentsCounts = Arrays.copyOf(commentsCounts, capacity);
+		categoryCodes = Arrays.copyOf(categoryCodes, capacity);
+		publishedAt = Arrays.copyOf(publishedAt, capacity);
+		titles = Arrays.copyOf(titles, capacity);
+		descriptions = Arrays.copyOf(descriptions, capacity);
+		authors = Arrays.copyOf(authors, capacity);
+		dates = Arrays.copyOf(dates, capacity);
+		images = Arrays.copyOf(images, capacity);
+	}
+	
+	private static long stringBytes(String s) {
+		boolean latin1 = true;
+		for (int i = 0; i < s.length() && latin1; i++) {
+			latin1 = s.charAt(i) < 256;
+		}
+		long payload = latin1 ? s.length() : 2L * s.length();
+		return 24 + align(16 + payload);
+	}
+	
+	private static long align(long bytes) {
+		return (bytes + 7) & ~7L;
+	}
+}
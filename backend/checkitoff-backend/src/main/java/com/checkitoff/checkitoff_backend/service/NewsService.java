@@ -1,23 +1,77 @@
 package com.checkitoff.checkitoff_backend.service;
 
+import com.checkitoff.checkitoff_backend.dto.NewsSummary;
 import com.checkitoff.checkitoff_backend.model.News;
+import com.checkitoff.checkitoff_backend.model.OutboxEvent;
 import com.checkitoff.checkitoff_backend.repository.NewsRepository;
 import com.checkitoff.checkitoff_backend.repository.VotesAndCommentsRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
 
 @Service
 public class NewsService {
 	
+	// Formats seen in the free-form news.date column, tried in order.
+	private static final List<DateTimeFormatter> DATE_FORMATS = List.of(
+			DateTimeFormatter.ISO_LOCAL_DATE,
+			DateTimeFormatter.ofPattern("d/M/yyyy"),
+			DateTimeFormatter.ofPattern("d-M-yyyy"),
+			DateTimeFormatter.ofPattern("d MMM yyyy", Locale.ENGLISH),
+			DateTimeFormatter.ofPattern("d MMMM yyyy", Locale.ENGLISH),
+			DateTimeFormatter.ofPattern("MMM d, yyyy", Locale.ENGLISH),
+			DateTimeFormatter.ofPattern("MMMM d, yyyy", Locale.ENGLISH)
+	);
+	
 	@Autowired
 	private NewsRepository newsRepository;
 	
 	@Autowired
 	private VotesAndCommentsRepository votesRepo;
 	
+	@Autowired
+	private OutboxService outboxService;
+	
+	@Transactional
+	public News addNews(News news) {
+		if (news.getPublishedAt() == null) {
+			LocalDateTime parsed = parsePublishedAt(news.getDate());
+			news.setPublishedAt(parsed != null ? parsed : LocalDateTime.now());
+		}
+		News savedNews = newsRepository.save(news);
+		outboxService.publish(savedNews.getId(), OutboxEvent.EventType.NEWS_CHANGED, Map.of("action", "created"));
+		return savedNews;
+	}
+	
+	@Transactional
+	public Optional<News> setVisibility(Long id, boolean visible) {
+		Optional<News> optional = newsRepository.findById(id);
+		optional.ifPresent(news -> {
+			news.setVisible(visible);
+			newsRepository.save(news);
+			outboxService.publish(id, OutboxEvent.EventType.NEWS_CHANGED, Map.of("action", "visibility", "visible", visible));
+		});
+		return optional;
+	}
+	
+	@Transactional
+	public Optional<News> toggleVisibility(Long id) {
+		return newsRepository.findById(id)
+				.flatMap(news -> setVisibility(id, !Boolean.TRUE.equals(news.getVisible())));
+	}
+	
 	public void updateAllCounts() {
 		List<News> newsList = newsRepository.findAll();
 		
@@ -89,6 +143,68 @@ public class NewsService {
 		}
 	}
 	
+	// Counters are already current (votes and moderation update them in place); this only
+	// moves an Unverified story once its votes lean one way. True if the category changed.
+	@Transactional
+	public boolean reclassify(Long newsId) {
+		return newsRepository.reclassifyUnverified(newsId) > 0;
+	}
+	
+	// The category reclassify() will settle on for these counters.
+	public static String expectedCategory(String category, long upVotes, long downVotes) {
+		if (!"Unverified".equalsIgnoreCase(category)) return category;
+		if (upVotes > downVotes) return "Verified";
+		if (downVotes > upVotes) return "Fake News";
+		return category;
+	}
+	
+	public List<News> findRecent(int hours) {
+		return newsRepository.findByVisibleTrueAndPublishedAtGreaterThanEqualOrderByPublishedAtDesc(
+				LocalDateTime.now().minusHours(hours));
+	}
+	
+	public List<News> findPublishedBetween(LocalDateTime from, LocalDateTime to) {
+		return newsRepository.findByVisibleTrueAndPublishedAtGreaterThanEqualAndPublishedAtLessThanOrderByPublishedAtDesc(from, to);
+	}
+	
+	// JPA fallback for the summary feed while the read model is disabled or still loading.
+	public List<NewsSummary> findFeed(String category, Long beforeId, int limit) {
+		return newsRepository.findFeed(category, beforeId, PageRequest.of(0, limit));
+	}
+	
+	// Fills published_at for rows written before the column existed. Rows whose date cannot be
+	// parsed are flagged and skipped from then on.
+	@EventListener(ApplicationReadyEvent.class)
+	@Transactional
+	public void backfillPublishedAt() {
+		List<News> missing = newsRepository.findByPublishedAtIsNullAndDateUnparseableFalse();
+		for (News news : missing) {
+			LocalDateTime parsed = parsePublishedAt(news.getDate());
+			if (parsed != null) {
+				news.setPublishedAt(parsed);
+			} else {
+				news.setDateUnparseable(true);
+			}
+		}
+		newsRepository.saveAll(missing);
+	}
+	
+	static LocalDateTime parsePublishedAt(String date) {
+		if (date == null || date.isBlank()) return null;
+		String value = date.trim();
+		try {
+			return LocalDateTime.parse(value);
+		} catch (DateTimeParseException ignored) {
+		}
+		for (DateTimeFormatter format : DATE_FORMATS) {
+			try {
+				return LocalDate.parse(value, format).atStartOfDay();
+			} catch (DateTimeParseException ignored) {
+			}
+		}
+		return null;
+	}
+	
 	public List<News> searchNews(String keyword) {
 		if (keyword == null || keyword.trim().isEmpty()) {
 			return newsRepository.findAll();
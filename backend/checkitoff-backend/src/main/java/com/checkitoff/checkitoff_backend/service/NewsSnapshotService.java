@@ -0,0 +1,238 @@
+package com.checkitoff.checkitoff_backend.service;
+
+import com.checkitoff.checkitoff_backend.dto.NewsSummary;
+import com.checkitoff.checkitoff_backend.model.News;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Warm-restart snapshot of the news read model (summaries, counters, categories) and the
+ * fullDescription of the stories it had cached.
+ * Written on graceful shutdown, memory-mapped and loaded before the web server starts,
+ * then reconciled with MySQL by NewsReadModel once the application is ready.
+ *
+ * Layout (big-endian): magic, format version, created-at millis, row count, body length,
+ * CRC32 of the body, body. Each row's fullDescription is -1 (absent) unless it was cached. A snapshot with a wrong magic/version, a bad checksum or older
+ * than max-age is deleted and ignored.
+ */
+@Service
+public class NewsSnapshotService {
+	
+	private static final Logger log = LoggerFactory.getLogger(NewsSnapshotService.class);
+	
+	private static final int MAGIC = 0x434B4E53; // "CKNS"
+	private static final int FORMAT_VERSION = 2;
+	private static final int HEADER_BYTES = 4 + 4 + 8 + 4 + 8 + 8;
+	private static final long NO_TIMESTAMP = Long.MIN_VALUE;
+	
+	@Autowired
+	private NewsReadModel newsReadModel;
+	
+	@Value("${checkitoff.snapshot.enabled:true}")
+	private boolean enabled;
+	
+	@Value("${checkitoff.snapshot.path:./data/news-snapshot.bin}")
+	private Path path;
+	
+	@Value("${checkitoff.snapshot.max-age-hours:24}")
+	private long maxAgeHours;
+	
+	@PostConstruct
+	public void restore() {
+		if (!enabled || !newsReadModel.isEnabled() || !Files.exists(path)) return;
+		try {
+			List<News> rows = read();
+			if (rows != null) {
+				newsReadModel.load(rows);
+				Map<Long, String> cached = new LinkedHashMap<>();
+				for (News news : rows) {
+					if (news.getFullDescription() != null) cached.put(news.getId(), news.getFullDescription());
+				}
+				newsReadModel.cacheFullDescriptions(cached);
+				log.info("Warm start: loaded {} news from snapshot {}", rows.size(), path);
+			}
+		} catch (Exception e) {
+			log.warn("Discarding unreadable news snapshot {}", path, e);
+			discard();
+		}
+	}
+	
+	@EventListener(ContextClosedEvent.class)
+	public void save() {
+		if (!enabled || !newsReadModel.isReady()) return;
+		try {
+			write(newsReadModel.exportAll(), newsReadModel.exportFullDescriptions());
+		} catch (IOException e) {
+			log.warn("Could not write news snapshot {}", path, e);
+		}
+	}
+	
+	void write(List<NewsSummary> rows, Map<Long, String> fullDescriptions) throws IOException {
+		ByteArrayOutputStream bodyBytes = new ByteArrayOutputStream(rows.size() * 256);
+		try (DataOutputStream body = new DataOutputStream(bodyBytes)) {
+			for (NewsSummary row : rows) {
+				body.writeLong(row.id());
+				body.writeInt(row.upVotes() != null ? row.upVotes() : 0);
+				body.writeInt(row.downVotes() != null ? row.downVotes() : 0);
+				body.writeInt(row.commentsCount() != null ? row.commentsCount() : 0);
+				body.writeBoolean(!Boolean.FALSE.equals(row.visible()));
+				body.writeLong(row.publishedAt() != null
+						? row.publishedAt().toInstant(ZoneOffset.UTC).toEpochMilli()
+						: NO_TIMESTAMP);
+				writeString(body, row.category());
+				writeString(body, row.title());
+				writeString(body, row.description());
+				writeString(body, row.author());
+				writeString(body, row.date());
+				writeString(body, row.image());
+				writeString(body, fullDescriptions.get(row.id()));
+			}
+		}
+		byte[] payload = bodyBytes.toByteArray();
+		CRC32 crc = new CRC32();
+		crc.update(payload);
+		
+		ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+		header.putInt(MAGIC)
+				.putInt(FORMAT_VERSION)
+				.putLong(System.currentTimeMillis())
+				.putInt(rows.size())
+				.putLong(payload.length)
+				.putLong(crc.getValue())
+				.flip();
+		
+		// Write next to the target and rename, so a crash mid-write never leaves a half snapshot behind.
+		Path parent = path.toAbsolutePath().getParent();
+		Files.createDirectories(parent);
+		Path tmp = Files.createTempFile(parent, "news-snapshot", ".tmp");
+		try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+			channel.write(header);
+			ByteBuffer body = ByteBuffer.wrap(payload);
+			while (body.hasRemaining()) channel.write(body);
+			channel.force(true);
+		}
+		Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		log.info("Wrote news snapshot with {} rows to {}", rows.size(), path);
+	}
+	
+	// Returns null (and deletes the file) when the snapshot is stale or was written by another format version.
+	List<News> read() throws IOException {
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			if (channel.size() < HEADER_BYTES) {
+				throw new IOException("Snapshot shorter than its header");
+			}
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			
+			if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION) {
+				log.info("Ignoring news snapshot {} from another format version", path);
+				discard();
+				return null;
+			}
+			long createdAt = buffer.getLong();
+			int count = buffer.getInt();
+			long bodyLength = buffer.getLong();
+			long checksum = buffer.getLong();
+			
+			if (Duration.between(Instant.ofEpochMilli(createdAt), Instant.now()).toHours() >= maxAgeHours) {
+				log.info("Ignoring news snapshot {} older than {} hours", path, maxAgeHours);
+				discard();
+				return null;
+			}
+			if (bodyLength != channel.size() - HEADER_BYTES || count < 0) {
+				throw new IOException("Snapshot length does not match its header");
+			}
+			
+			ByteBuffer body = buffer.slice();
+			CRC32 crc = new CRC32();
+			crc.update(body.duplicate());
+			if (crc.getValue() != checksum) {
+				throw new IOException("Snapshot checksum mismatch");
+			}
+			
+			List<News> rows = new ArrayList<>(count);
+			try {
+				for (int i = 0; i < count; i++) {
+					rows.add(readRow(body));
+				}
+			} catch (BufferUnderflowException e) {
+				throw new IOException("Snapshot truncated", e);
+			}
+			return rows;
+		}
+	}
+	
+	private static News readRow(ByteBuffer body) {
+		News news = new News();
+		news.setId(body.getLong());
+		news.setUpVotes(body.getInt());
+		news.setDownVotes(body.getInt());
+		news.setCommentsCount(body.getInt());
+		news.setVisible(body.get() != 0);
+		long publishedAt = body.getLong();
+		news.setPublishedAt(publishedAt != NO_TIMESTAMP
+				? LocalDateTime.ofInstant(Instant.ofEpochMilli(publishedAt), ZoneOffset.UTC)
+				: null);
+		news.setCategory(readString(body));
+		news.setTitle(readString(body));
+		news.setDescription(readString(body));
+		news.setAuthor(readString(body));
+		news.setDate(readString(body));
+		news.setImage(readString(body));
+		news.setFullDescription(readString(body));
+		return news;
+	}
+	
+	private static void writeString(DataOutputStream out, String value) throws IOException {
+		if (value == null) {
+			out.writeInt(-1);
+			return;
+		}
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+	
+	private static String readString(ByteBuffer body) {
+		int length = body.getInt();
+		if (length < 0) return null;
+		byte[] bytes = new byte[length];
+		body.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+	
+	private void discard() {
+		try {
+			Files.deleteIfExists(path);
+		} catch (IOException e) {
+			log.warn("Could not delete news snapshot {}", path, e);
+		}
+	}
+}
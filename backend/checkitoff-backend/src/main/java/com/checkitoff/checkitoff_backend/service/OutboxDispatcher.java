@@ -0,0 +1,125 @@
+package com.checkitoff.checkitoff_backend.service;
+
+import com.checkitoff.checkitoff_backend.model.OutboxEvent;
+import com.checkitoff.checkitoff_backend.repository.OutboxEventRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Runs the database side effects of the outbox (handlers that are not perInstance) exactly once
+ * across all instances. Each poll leases a batch of pending events to this instance
+ * (claimed_by / claimed_until), so no other instance picks them up until the lease runs out.
+ * Events are grouped per news id so each handler runs once per story per batch; a failing group is
+ * released and retried on a later poll, which gives at-least-once delivery. A group that keeps
+ * failing is parked after max-attempts: it keeps its last_error, is never retried and is never
+ * cleaned up, so the failure stays visible until someone clears parked_at.
+ * In-memory caches are fed separately on every instance by OutboxFollower.
+ */
+@Component
+public class OutboxDispatcher {
+	
+	private static final Logger log = LoggerFactory.getLogger(OutboxDispatcher.class);
+	
+	@Autowired
+	private OutboxEventRepository outboxRepository;
+	
+	@Autowired
+	private List<OutboxEventHandler> handlers;
+	
+	@Value("${checkitoff.outbox.instance-id:${random.uuid}}")
+	private String instanceId;
+	
+	@Value("${checkitoff.outbox.batch-size:500}")
+	private int batchSize;
+	
+	@Value("${checkitoff.outbox.max-attempts:10}")
+	private int maxAttempts;
+	
+	@Value("${checkitoff.outbox.lease-seconds:60}")
+	private int leaseSeconds;
+	
+	@Value("${checkitoff.outbox.retention-hours:24}")
+	private int retentionHours;
+	
+	private final TransactionTemplate transactionTemplate;
+	
+	public OutboxDispatcher(PlatformTransactionManager transactionManager) {
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+	}
+	
+	@Scheduled(fixedDelayString = "${checkitoff.outbox.poll-interval-ms:500}")
+	public void drain() {
+		List<OutboxEventHandler> shared = handlers.stream().filter(h -> !h.perInstance()).toList();
+		// Stories that failed in this drain are skipped for the rest of it, so later events never overtake them.
+		// Their events stay leased until the drain ends, so the loop does not claim them again.
+		Set<Long> blocked = new HashSet<>();
+		Set<Long> skipped = new LinkedHashSet<>();
+		int claimed;
+		do {
+			LocalDateTime now = LocalDateTime.now();
+			claimed = transactionTemplate.execute(status ->
+					outboxRepository.claim(instanceId, now, now.plusSeconds(leaseSeconds), batchSize));
+			if (claimed == 0) break;
+			dispatch(shared, outboxRepository.findClaimed(instanceId), blocked, skipped);
+		} while (claimed == batchSize);
+		
+		if (!skipped.isEmpty()) {
+			transactionTemplate.executeWithoutResult(status -> outboxRepository.release(skipped));
+		}
+	}
+	
+	@Scheduled(cron = "${checkitoff.outbox.cleanup-cron:0 0 * * * *}")
+	public void cleanup() {
+		transactionTemplate.executeWithoutResult(status ->
+				outboxRepository.deleteProcessedBefore(LocalDateTime.now().minusHours(retentionHours)));
+		long parked = outboxRepository.countByParkedAtIsNotNull();
+		if (parked > 0) {
+			log.warn("{} outbox events are parked; see last_error in outbox_events", parked);
+		}
+	}
+	
+	private void dispatch(List<OutboxEventHandler> shared, List<OutboxEvent> batch, Set<Long> blocked, Set<Long> skipped) {
+		Map<Long, List<OutboxEvent>> byNews = new LinkedHashMap<>();
+		for (OutboxEvent event : batch) {
+			if (blocked.contains(event.getNewsId())) {
+				skipped.add(event.getId());
+				continue;
+			}
+			byNews.computeIfAbsent(event.getNewsId(), k -> new ArrayList<>()).add(event);
+		}
+		
+		for (Map.Entry<Long, List<OutboxEvent>> entry : byNews.entrySet()) {
+			List<Long> ids = entry.getValue().stream().map(OutboxEvent::getId).toList();
+			try {
+				transactionTemplate.executeWithoutResult(status -> {
+					for (OutboxEventHandler handler : shared) {
+						handler.handle(entry.getKey(), entry.getValue());
+					}
+					outboxRepository.markProcessed(ids, LocalDateTime.now());
+				});
+			} catch (Exception e) {
+				String error = String.valueOf(e.getMessage());
+				blocked.add(entry.getKey());
+				boolean park = entry.getValue().stream().anyMatch(ev -> ev.getAttempts() + 1 >= maxAttempts);
+				if (park) {
+					log.error("Parking {} outbox events of news {} after {} attempts", ids.size(), entry.getKey(), maxAttempts, e);
+				} else {
+					log.warn("Outbox handlers failed for news {} ({} events)", entry.getKey(), ids.size(), e);
+				}
+				transactionTemplate.executeWithoutResult(status -> {
+					outboxRepository.markFailed(ids, error.length() > 500 ? error.substring(0, 500) : error);
+					if (park) outboxRepository.markParked(ids, LocalDateTime.now());
+				});
+			}
+		}
+	}
+}
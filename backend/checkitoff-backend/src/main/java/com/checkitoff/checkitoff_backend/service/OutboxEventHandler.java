@@ -0,0 +1,24 @@
+package com.checkitoff.checkitoff_backend.service;
+
+import com.checkitoff.checkitoff_backend.model.OutboxEvent;
+
+import java.util.List;
+
+/**
+ * Downstream side effect fed by the outbox. Called off the request thread with pending events of
+ * one news id, in id order (not necessarily commit order). Delivery is at-least-once, so handlers
+ * must be idempotent.
+ */
+public interface OutboxEventHandler {
+	
+	void handle(Long newsId, List<OutboxEvent> events);
+	
+	/**
+	 * False for database side effects: they run once per event, on whichever instance claims it
+	 * (OutboxDispatcher). True for handlers that only refresh this process's in-memory state: every
+	 * instance feeds them every event from its own cursor (OutboxFollower).
+	 */
+	default boolean perInstance() {
+		return false;
+	}
+}
@@ -0,0 +1,161 @@
+package com.checkitoff.checkitoff_backend.service;
+
+import com.checkitoff.checkitoff_backend.model.OutboxEvent;
+import com.checkitoff.checkitoff_backend.repository.OutboxEventRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.LongSupplier;
+
+/**
+ * Feeds every event to this instance's in-memory caches (perInstance handlers), whichever instance
+ * claimed it for the database side effects. The position is a local high-water mark over the
+ * table, so nothing is marked on behalf of other instances; the cleanup retention only has to
+ * outlast how far an instance can fall behind.
+ * Ids are handed out at insert but become visible at commit, so an id below the mark can still
+ * show up. Skipped ids are remembered for gap-timeout-ms and fetched again on each poll.
+ * A group whose handlers fail is retried locally and dropped, with an error, after max-attempts.
+ */
+@Component
+public class OutboxFollower {
+	
+	private static final Logger log = LoggerFactory.getLogger(OutboxFollower.class);
+	
+	// Wider jumps (auto_increment_increment, bulk rollbacks) are not tracked id by id.
+	static final int MAX_GAP = 10_000;
+	
+	@Autowired
+	private OutboxEventRepository outboxRepository;
+	
+	@Autowired
+	private List<OutboxEventHandler> handlers;
+	
+	@Value("${checkitoff.outbox.batch-size:500}")
+	private int batchSize;
+	
+	@Value("${checkitoff.outbox.max-attempts:10}")
+	private int maxAttempts;
+	
+	@Value("${checkitoff.outbox.gap-timeout-ms:60000}")
+	private long gapTimeoutMillis;
+	
+	LongSupplier clock = System::currentTimeMillis;
+	
+	private final TransactionTemplate transactionTemplate;
+	
+	private long cursor = -1;
+	
+	// Missing id -> when it was first skipped.
+	private final Map<Long, Long> gaps = new TreeMap<>();
+	
+	private final Map<Long, List<OutboxEvent>> retries = new LinkedHashMap<>();
+	
+	private final Map<Long, Integer> retryAttempts = new HashMap<>();
+	
+	public OutboxFollower(PlatformTransactionManager transactionManager) {
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.transactionTemplate.setReadOnly(true);
+	}
+	
+	// Before the caches load (ApplicationReadyEvent), so nothing committed after the load is missed.
+	// Starts gap-timeout-ms back; replaying a few events is harmless, the handlers are idempotent.
+	@EventListener(ContextRefreshedEvent.class)
+	public synchronized void position() {
+		if (cursor >= 0) return;
+		LocalDateTime before = LocalDateTime.now().minus(Duration.ofMillis(gapTimeoutMillis));
+		Long start = outboxRepository.findMaxIdCreatedBefore(before);
+		cursor = start != null ? start : 0;
+	}
+	
+	@Scheduled(fixedDelayString = "${checkitoff.outbox.poll-interval-ms:500}")
+	public synchronized void follow() {
+		position();
+		List<OutboxEvent> events = new ArrayList<>(fillGaps());
+		List<OutboxEvent> batch;
+		do {
+			batch = outboxRepository.findAfter(cursor, PageRequest.of(0, batchSize));
+			for (OutboxEvent event : batch) {
+				advance(event.getId());
+				events.add(event);
+			}
+		} while (batch.size() == batchSize);
+		
+		if (!events.isEmpty() || !retries.isEmpty()) {
+			events.sort(Comparator.comparing(OutboxEvent::getId));
+			dispatch(events);
+		}
+	}
+	
+	long cursor() {
+		return cursor;
+	}
+	
+	Set<Long> gaps() {
+		return gaps.keySet();
+	}
+	
+	private void advance(long id) {
+		long missing = id - cursor - 1;
+		if (missing > MAX_GAP) {
+			log.warn("Outbox ids jumped from {} to {}; not waiting for the ids in between", cursor, id);
+		} else if (missing > 0) {
+			long now = clock.getAsLong();
+			for (long gap = cursor + 1; gap < id; gap++) {
+				gaps.put(gap, now);
+			}
+		}
+		cursor = id;
+	}
+	
+	private List<OutboxEvent> fillGaps() {
+		if (gaps.isEmpty()) return List.of();
+		List<OutboxEvent> found = outboxRepository.findAllById(gaps.keySet());
+		found.forEach(event -> gaps.remove(event.getId()));
+		long expired = clock.getAsLong() - gapTimeoutMillis;
+		gaps.values().removeIf(since -> since < expired);
+		return found;
+	}
+	
+	private void dispatch(List<OutboxEvent> events) {
+		Map<Long, List<OutboxEvent>> byNews = new LinkedHashMap<>();
+		retries.forEach((newsId, pending) -> byNews.put(newsId, new ArrayList<>(pending)));
+		retries.clear();
+		for (OutboxEvent event : events) {
+			byNews.computeIfAbsent(event.getNewsId(), k -> new ArrayList<>()).add(event);
+		}
+		
+		for (Map.Entry<Long, List<OutboxEvent>> entry : byNews.entrySet()) {
+			Long newsId = entry.getKey();
+			try {
+				transactionTemplate.executeWithoutResult(status -> {
+					for (OutboxEventHandler handler : handlers) {
+						if (handler.perInstance()) handler.handle(newsId, entry.getValue());
+					}
+				});
+				retryAttempts.remove(newsId);
+			} catch (Exception e) {
+				int attempts = retryAttempts.merge(newsId, 1, Integer::sum);
+				if (attempts >= maxAttempts) {
+					log.error("Dropping {} outbox events of news {} after {} attempts; local caches may be stale for it",
+							entry.getValue().size(), newsId, attempts, e);
+					retryAttempts.remove(newsId);
+				} else {
+					log.warn("Local outbox handlers failed for news {} ({} events)", newsId, entry.getValue().size(), e);
+					retries.put(newsId, entry.getValue());
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,49 @@
+package com.checkitoff.checkitoff_backend.service;
+
+import com.checkitoff.checkitoff_backend.model.OutboxEvent;
+import com.checkitoff.checkitoff_backend.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+@Service
+public class OutboxService {
+	
+	@Autowired
+	private OutboxEventRepository outboxRepository;
+	
+	@Autowired
+	private ObjectMapper objectMapper;
+	
+	// Joins the caller's transaction, so the event commits (or rolls back) with the change itself.
+	@Transactional
+	public OutboxEvent publish(Long newsId, OutboxEvent.EventType type, Map<String, Object> payload) {
+		return outboxRepository.save(newEvent(newsId, type, payload));
+	}
+	
+	@Transactional
+	public void publishAll(Collection<Long> newsIds, OutboxEvent.EventType type, Map<String, Object> payload) {
+		List<OutboxEvent> events = newsIds.stream()
+				.map(newsId -> newEvent(newsId, type, payload))
+				.toList();
+		outboxRepository.saveAll(events);
+	}
+	
+	private OutboxEvent newEvent(Long newsId, OutboxEvent.EventType type, Map<String, Object> payload) {
+		OutboxEvent event = new OutboxEvent();
+		event.setNewsId(newsId);
+		event.setEventType(type);
+		try {
+			event.setPayload(payload != null ? objectMapper.writeValueAsString(payload) : null);
+		} catch (JsonProcessingException e) {
+			throw new IllegalArgumentException("Outbox payload is not serializable", e);
+		}
+		return event;
+	}
+}
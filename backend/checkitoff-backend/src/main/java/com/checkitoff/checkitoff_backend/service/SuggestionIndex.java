@@ -0,0 +1,323 @@
+package com.checkitoff.checkitoff_backend.service;
+
+import com.checkitoff.checkitoff_backend.dto.Suggestion;
+import com.checkitoff.checkitoff_backend.model.News;
+import com.checkitoff.checkitoff_backend.model.OutboxEvent;
+import com.checkitoff.checkitoff_backend.repository.NewsRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Prefix trie for search-as-you-type over visible news titles, authors and categories.
+ * Titles are also indexed from each word boundary, so "vacc" finds "New vaccine ...".
+ * Every node caches its top MAX_RESULTS distinct terms by weight (votes + comments); a change only
+ * clears the caches on the changed term's path, and they are rebuilt lazily from the children's caches.
+ * A node can end several terms: a title suffix, an author and a category may normalize to the same
+ * key, and each keeps its own type, display text and weight.
+ * Nodes left without a term or children are pruned on removal, so churn does not grow the trie.
+ * Lookups share a read lock; the caches they fill in are volatile, so concurrent lookups may
+ * compute the same cache twice but never see a half-built one.
+ */
+@Component
+public class SuggestionIndex implements OutboxEventHandler {
+	
+	public static final int MAX_RESULTS = 10;
+	private static final int MAX_TITLE_WORDS = 8;
+	private static final int MAX_KEY_LENGTH = 80;
+	
+	@Autowired
+	private NewsRepository newsRepository;
+	
+	private final Node root = new Node();
+	private final Map<Long, Contribution> contributions = new HashMap<>();
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+	
+	@EventListener(ApplicationReadyEvent.class)
+	public void rebuild() {
+		List<News> visible = newsRepository.findByVisibleTrue();
+		lock.writeLock().lock();
+		try {
+			for (Long newsId : new ArrayList<>(contributions.keySet())) {
+				remove(newsId);
+			}
+			visible.forEach(this::put);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+	
+	@Override
+	public boolean perInstance() {
+		return true;
+	}
+	
+	@Override
+	public void handle(Long newsId, List<OutboxEvent> events) {
+		Optional<News> news = newsRepository.findById(newsId);
+		lock.writeLock().lock();
+		try {
+			remove(newsId);
+			news.filter(n -> Boolean.TRUE.equals(n.getVisible())).ifPresent(this::put);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+	
+	public void evict(Long newsId) {
+		lock.writeLock().lock();
+		try {
+			remove(newsId);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+	
+	public List<Suggestion> suggest(String prefix, int limit) {
+		String key = TextNormalizer.normalize(prefix);
+		if (key.isEmpty()) return List.of();
+		
+		lock.readLock().lock();
+		try {
+			Node node = root;
+			for (int i = 0; i < key.length() && node != null; i++) {
+				node = node.child(key.charAt(i));
+			}
+			if (node == null) return List.of();
+			
+			Term[] top = node.top();
+			List<Suggestion> result = new ArrayList<>(Math.min(limit, top.length));
+			for (int i = 0; i < top.length && i < limit; i++) {
+				result.add(new Suggestion(top[i].display, top[i].type, top[i].weight));
+			}
+			return result;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+	
+	public int size() {
+		lock.readLock().lock();
+		try {
+			return contributions.size();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+	
+	int nodeCount() {
+		lock.readLock().lock();
+		try {
+			return root.count();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+	
+	private void put(News news) {
+		long weight = 1L + nz(news.getUpVotes()) + nz(news.getDownVotes()) + nz(news.getCommentsCount());
+		List<Term> terms = new ArrayList<>();
+		
+		if (news.getTitle() != null) {
+			String title = news.getTitle().trim();
+			String normalized = TextNormalizer.normalize(title);
+			int words = 0;
+			for (int i = 0; i < normalized.length() && words < MAX_TITLE_WORDS; i++) {
+				if (i == 0 || normalized.charAt(i - 1) == ' ') {
+					terms.add(add(normalized.substring(i), title, "title", weight));
+					words++;
+				}
+			}
+		}
+		if (news.getAuthor() != null && !news.getAuthor().isBlank()) {
+			terms.add(add(TextNormalizer.normalize(news.getAuthor()), news.getAuthor().trim(), "author", weight));
+		}
+		if (news.getCategory() != null && !news.getCategory().isBlank()) {
+			terms.add(add(TextNormalizer.normalize(news.getCategory()), news.getCategory().trim(), "category", weight));
+		}
+		contributions.put(news.getId(), new Contribution(terms, weight));
+	}
+	
+	private void remove(Long newsId) {
+		Contribution contribution = contributions.remove(newsId);
+		if (contribution == null) return;
+		for (Term term : contribution.terms) {
+			term.weight -= contribution.weight;
+			term.refs--;
+			Node node = invalidatePath(term.key);
+			if (term.refs == 0) {
+				node.removeTerm(term);
+				prune(term.key);
+			}
+		}
+	}
+	
+	// Detaches the now-empty tail of the key's path, deepest node first.
+	private void prune(String key) {
+		Node[] path = new Node[key.length() + 1];
+		path[0] = root;
+		for (int i = 0; i < key.length(); i++) {
+			path[i + 1] = path[i].child(key.charAt(i));
+		}
+		for (int depth = key.length(); depth > 0; depth--) {
+			Node node = path[depth];
+			if (node.terms.length > 0 || node.keys.length > 0) break;
+			path[depth - 1].removeChild(key.charAt(depth - 1));
+		}
+	}
+	
+	// Authors and categories shared by many stories accumulate their weights in one term; terms of
+	// another type or display text on the same key stay separate.
+	private Term add(String key, String display, String type, long weight) {
+		if (key.length() > MAX_KEY_LENGTH) key = key.substring(0, MAX_KEY_LENGTH);
+		Node node = root;
+		node.top = null;
+		for (int i = 0; i < key.length(); i++) {
+			node = node.childOrCreate(key.charAt(i));
+			node.top = null;
+		}
+		Term term = node.term(type, display);
+		if (term == null) {
+			term = new Term(key, display, type);
+			node.addTerm(term);
+		}
+		term.weight += weight;
+		term.refs++;
+		return term;
+	}
+	
+	private Node invalidatePath(String key) {
+		Node node = root;
+		node.top = null;
+		for (int i = 0; i < key.length(); i++) {
+			node = node.child(key.charAt(i));
+			node.top = null;
+		}
+		return node;
+	}
+	
+	private static long nz(Integer value) {
+		return value != null ? value : 0;
+	}
+	
+	private record Contribution(List<Term> terms, long weight) {
+	}
+	
+	private static final class Term {
+		final String key;
+		final String display;
+		final String type;
+		long weight;
+		int refs;
+		
+		Term(String key, String display, String type) {
+			this.key = key;
+			this.display = display;
+			this.type = type;
+		}
+	}
+	
+	// Children are kept in sorted parallel arrays instead of a map to keep nodes small.
+	private static final class Node {
+		private static final char[] NO_KEYS = new char[0];
+		private static final Node[] NO_CHILDREN = new Node[0];
+		private static final Term[] NO_TERMS = new Term[0];
+		
+		char[] keys = NO_KEYS;
+		Node[] children = NO_CHILDREN;
+		Term[] terms = NO_TERMS;
+		volatile Term[] top;
+		
+		Term term(String type, String display) {
+			for (Term term : terms) {
+				if (term.type.equals(type) && term.display.equals(display)) return term;
+			}
+			return null;
+		}
+		
+		void addTerm(Term term) {
+			terms = Arrays.copyOf(terms, terms.length + 1);
+			terms[terms.length - 1] = term;
+		}
+		
+		void removeTerm(Term term) {
+			for (int i = 0; i < terms.length; i++) {
+				if (terms[i] != term) continue;
+				Term[] remaining = new Term[terms.length - 1];
+				System.arraycopy(terms, 0, remaining, 0, i);
+				System.arraycopy(terms, i + 1, remaining, i, terms.length - i - 1);
+				terms = remaining.length > 0 ? remaining : NO_TERMS;
+				return;
+			}
+		}
+		
+		Node child(char c) {
+			int i = Arrays.binarySearch(keys, c);
+			return i >= 0 ? children[i] : null;
+		}
+		
+		Node childOrCreate(char c) {
+			int i = Arrays.binarySearch(keys, c);
+			if (i >= 0) return children[i];
+			int at = -i - 1;
+			char[] newKeys = new char[keys.length + 1];
+			Node[] newChildren = new Node[children.length + 1];
+			System.arraycopy(keys, 0, newKeys, 0, at);
+			System.arraycopy(children, 0, newChildren, 0, at);
+			newKeys[at] = c;
+			newChildren[at] = new Node();
+			System.arraycopy(keys, at, newKeys, at + 1, keys.length - at);
+			System.arraycopy(children, at, newChildren, at + 1, children.length - at);
+			keys = newKeys;
+			children = newChildren;
+			return newChildren[at];
+		}
+		
+		void removeChild(char c) {
+			int i = Arrays.binarySearch(keys, c);
+			if (i < 0) return;
+			char[] newKeys = new char[keys.length - 1];
+			Node[] newChildren = new Node[children.length - 1];
+			System.arraycopy(keys, 0, newKeys, 0, i);
+			System.arraycopy(children, 0, newChildren, 0, i);
+			System.arraycopy(keys, i + 1, newKeys, i, keys.length - i - 1);
+			System.arraycopy(children, i + 1, newChildren, i, children.length - i - 1);
+			keys = newKeys.length > 0 ? newKeys : NO_KEYS;
+			children = newChildren.length > 0 ? newChildren : NO_CHILDREN;
+		}
+		
+		// Deduplicated before truncating: several word-boundary keys of one title can land under the
+		// same prefix, and they must not use up the slots of other suggestions.
+		Term[] top() {
+			Term[] cached = top;
+			if (cached != null) return cached;
+			List<Term> candidates = new ArrayList<>(Arrays.asList(terms));
+			for (Node child : children) {
+				Collections.addAll(candidates, child.top());
+			}
+			candidates.sort((a, b) -> Long.compare(b.weight, a.weight));
+			List<Term> distinct = new ArrayList<>(Math.min(MAX_RESULTS, candidates.size()));
+			Set<String> seen = new HashSet<>();
+			for (Term candidate : candidates) {
+				if (distinct.size() >= MAX_RESULTS) break;
+				if (seen.add(candidate.type + ":" + candidate.display)) distinct.add(candidate);
+			}
+			cached = distinct.isEmpty() ? NO_TERMS : distinct.toArray(NO_TERMS);
+			top = cached;
+			return cached;
+		}
+		
+		int count() {
+			int total = 1;
+			for (Node child : children) {
+				total += child.count();
+			}
+			return total;
+		}
+	}
+}
@@ -0,0 +1,27 @@
+package com.checkitoff.checkitoff_backend.service;
+
+// Shared by the suggestion trie and the near-duplicate shingles, so both see the same words.
+final class TextNormalizer {
+	
+	private TextNormalizer() {
+	}
+	
+	// Lowercase, letters/digits only, single spaces — so punctuation and spacing edits don't matter.
+	static String normalize(String text) {
+		StringBuilder sb = new StringBuilder(text.length());
+		boolean space = true;
+		for (int i = 0; i < text.length(); i++) {
+			char c = text.charAt(i);
+			if (Character.isLetterOrDigit(c)) {
+				sb.append(Character.toLowerCase(c));
+				space = false;
+			} else if (!space) {
+				sb.append(' ');
+				space = true;
+			}
+		}
+		int length = sb.length();
+		if (length > 0 && sb.charAt(length - 1) == ' ') sb.setLength(length - 1);
+		return sb.toString();
+	}
+}
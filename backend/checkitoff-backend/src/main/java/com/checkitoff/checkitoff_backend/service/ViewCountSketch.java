@@ -0,0 +1,125 @@
+package com.checkitoff.checkitoff_backend.service;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Lock-free Count-Min sketch of story views for one time window, plus a bounded set of
+ * candidate heavy hitters. Estimates never undercount; with DEPTH x WIDTH counters a story's
+ * overcount stays within e/WIDTH of the window's total views with probability 1 - e^-DEPTH (about 98%).
+ * Once the candidate set is full, an id whose estimate beats the smallest candidate's takes
+ * its place, so stories that take off late in the window still make the top list.
+ * Memory is fixed: DEPTH * WIDTH longs plus about candidateCapacity ids.
+ */
+final class ViewCountSketch {
+	
+	static final int DEPTH = 4;
+	static final int WIDTH = 1 << 12;
+	private static final long[] SEEDS = {
+			0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L
+	};
+	
+	private final AtomicLongArray counters = new AtomicLongArray(DEPTH * WIDTH);
+	private final Set<Long> candidates = ConcurrentHashMap.newKeySet();
+	private final int candidateCapacity;
+	private final long startMillis;
+	// Striped so concurrent views do not all bump one cache line; only the flush sums them.
+	private final LongAdder entered = new LongAdder();
+	private final LongAdder exited = new LongAdder();
+	private final ReentrantLock admission = new ReentrantLock();
+	
+	// Lower bound on the smallest candidate estimate (counts only grow), so most misses skip the scan.
+	private volatile long floor;
+	
+	ViewCountSketch(long startMillis, int candidateCapacity) {
+		this.startMillis = startMillis;
+		this.candidateCapacity = candidateCapacity;
+	}
+	
+	void record(long newsId) {
+		long estimate = Long.MAX_VALUE;
+		for (int row = 0; row < DEPTH; row++) {
+			estimate = Math.min(estimate, counters.incrementAndGet(row * WIDTH + index(newsId, row)));
+		}
+		// Plain read first: after warm-up almost every view hits an id that is already tracked.
+		if (candidates.contains(newsId)) return;
+		if (candidates.size() < candidateCapacity) {
+			candidates.add(newsId);
+		} else if (estimate > floor) {
+			admit(newsId, estimate);
+		}
+	}
+	
+	// Replaces the smallest candidate if newsId now beats it. Skipped rather than waited for when
+	// another view holds the lock; this id gets another chance on its next view.
+	private void admit(long newsId, long estimate) {
+		if (!admission.tryLock()) return;
+		try {
+			long smallest = Long.MAX_VALUE;
+			long secondSmallest = Long.MAX_VALUE;
+			Long victim = null;
+			for (Long candidate : candidates) {
+				long views = estimate(candidate);
+				if (views < smallest) {
+					secondSmallest = smallest;
+					smallest = views;
+					victim = candidate;
+				} else if (views < secondSmallest) {
+					secondSmallest = views;
+				}
+			}
+			if (victim != null && estimate > smallest && candidates.add(newsId)) {
+				candidates.remove(victim);
+				floor = Math.min(secondSmallest, estimate);
+			} else {
+				floor = smallest;
+			}
+		} finally {
+			admission.unlock();
+		}
+	}
+	
+	// Recorders register before checking that this is still the live sketch; a flush waits for
+	// them to leave before reading, so no view is lost to the swap.
+	void enter() {
+		entered.increment();
+	}
+	
+	void exit() {
+		exited.increment();
+	}
+	
+	// Both counts only grow and every exit follows its enter, so reading exits before enters
+	// and finding them equal means no recorder was inside at that moment. Anyone entering
+	// later sees the sketch already swapped out and leaves without recording.
+	void awaitRecorders() {
+		while (exited.sum() != entered.sum()) {
+			Thread.onSpinWait();
+		}
+	}
+	
+	long estimate(long newsId) {
+		long min = Long.MAX_VALUE;
+		for (int row = 0; row < DEPTH; row++) {
+			min = Math.min(min, counters.get(row * WIDTH + index(newsId, row)));
+		}
+		return min;
+	}
+	
+	Set<Long> candidates() {
+		return candidates;
+	}
+	
+	long startMillis() {
+		return startMillis;
+	}
+	
+	private static int index(long newsId, int row) {
+		long h = (newsId + 1) * SEEDS[row];
+		h ^= h >>> 31;
+		return (int) (h & (WIDTH - 1));
+	}
+}
@@ -0,0 +1,146 @@
+package com.checkitoff.checkitoff_backend.service;
+
+import com.checkitoff.checkitoff_backend.dto.MostViewedNews;
+import com.checkitoff.checkitoff_backend.dto.NewsSummary;
+import com.checkitoff.checkitoff_backend.dto.ViewCount;
+import com.checkitoff.checkitoff_backend.model.NewsViewWindow;
+import com.checkitoff.checkitoff_backend.repository.NewsViewWindowRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Counts story detail views without writing to the news table. Views go into the current
+ * window's sketch; every flush interval the window is swapped out and its top stories are
+ * stored as one news_view_windows row each. The swap and the wait for in-flight views happen
+ * before the write transaction opens, so no connection is held while the flush waits.
+ */
+@Service
+public class ViewTrackingService {
+	
+	@Autowired
+	private NewsViewWindowRepository viewWindowRepository;
+	
+	@Autowired
+	private NewsReadModel newsReadModel;
+	
+	@Value("${checkitoff.views.candidate-capacity:1024}")
+	private int candidateCapacity;
+	
+	@Value("${checkitoff.views.top-per-window:100}")
+	private int topPerWindow;
+	
+	@Value("${checkitoff.views.retention-days:30}")
+	private int retentionDays;
+	
+	private final AtomicReference<ViewCountSketch> current = new AtomicReference<>();
+	private final TransactionTemplate transactionTemplate;
+	
+	public ViewTrackingService(PlatformTransactionManager transactionManager) {
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+	}
+	
+	public void recordView(Long newsId) {
+		while (true) {
+			ViewCountSketch sketch = current.get();
+			if (sketch == null) {
+				current.compareAndSet(null, new ViewCountSketch(System.currentTimeMillis(), candidateCapacity));
+				continue;
+			}
+			sketch.enter();
+			try {
+				// Swapped out between the read and enter(): the flush may already be reading it.
+				if (current.get() == sketch) {
+					sketch.record(newsId);
+					return;
+				}
+			} finally {
+				sketch.exit();
+			}
+		}
+	}
+	
+	@Scheduled(fixedRateString = "${checkitoff.views.flush-interval-ms:60000}")
+	public void flush() {
+		ViewCountSketch finished = current.getAndSet(new ViewCountSketch(System.currentTimeMillis(), candidateCapacity));
+		List<NewsViewWindow> rows = List.of();
+		if (finished != null) {
+			finished.awaitRecorders();
+			LocalDateTime start = toLocal(finished.startMillis());
+			LocalDateTime end = LocalDateTime.now();
+			rows = top(finished, topPerWindow).stream()
+					.map(count -> {
+						NewsViewWindow row = new NewsViewWindow();
+						row.setNewsId(count.newsId());
+						row.setWindowStart(start);
+						row.setWindowEnd(end);
+						row.setViews(count.views());
+						return row;
+					})
+					.toList();
+		}
+		List<NewsViewWindow> drained = rows;
+		transactionTemplate.executeWithoutResult(status -> {
+			viewWindowRepository.saveAll(drained);
+			viewWindowRepository.deleteOlderThan(LocalDateTime.now().minusDays(retentionDays));
+		});
+	}
+	
+	// Flushed windows that started inside the range, plus the live estimate of the current window.
+	public List<MostViewedNews> mostViewed(Duration window, int limit) {
+		Map<Long, Long> totals = new HashMap<>();
+		for (ViewCount count : viewWindowRepository.findTopSince(LocalDateTime.now().minus(window), PageRequest.of(0, limit * 2))) {
+			totals.merge(count.newsId(), count.views(), Long::sum);
+		}
+		ViewCountSketch live = current.get();
+		if (live != null) {
+			for (ViewCount count : top(live, limit * 2)) {
+				totals.merge(count.newsId(), count.views(), Long::sum);
+			}
+		}
+		
+		return totals.entrySet().stream()
+				.sorted(Map.Entry.<Long, Long>comparingByValue().reversed())
+				.limit(limit)
+				.map(e -> {
+					Optional<NewsSummary> summary = newsReadModel.isReady() ? newsReadModel.find(e.getKey()) : Optional.empty();
+					return new MostViewedNews(e.getKey(),
+							summary.map(NewsSummary::title).orElse(null),
+							summary.map(NewsSummary::category).orElse(null),
+							e.getValue());
+				})
+				.toList();
+	}
+	
+	private static List<ViewCount> top(ViewCountSketch sketch, int limit) {
+		PriorityQueue<ViewCount> heap = new PriorityQueue<>(Comparator.comparingLong(ViewCount::views));
+		for (Long newsId : sketch.candidates()) {
+			long views = sketch.estimate(newsId);
+			if (views == 0) continue;
+			if (heap.size() < limit) {
+				heap.add(new ViewCount(newsId, views));
+			} else if (views > heap.peek().views()) {
+				heap.poll();
+				heap.add(new ViewCount(newsId, views));
+			}
+		}
+		List<ViewCount> result = new ArrayList<>(heap);
+		result.sort(Comparator.comparingLong(ViewCount::views).reversed());
+		return result;
+	}
+	
+	private static LocalDateTime toLocal(long millis) {
+		return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault());
+	}
+}
@@ -0,0 +1,74 @@
+package com.checkitoff.checkitoff_backend.service;
+
+import com.checkitoff.checkitoff_backend.model.OutboxEvent;
+import com.checkitoff.checkitoff_backend.model.VotesAndComments;
+import com.checkitoff.checkitoff_backend.repository.NewsRepository;
+import com.checkitoff.checkitoff_backend.repository.VotesAndCommentsRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Service
+public class VoteService {
+	
+	@Autowired
+	private NewsRepository newsRepository;
+	
+	@Autowired
+	private VotesAndCommentsRepository votesRepo;
+	
+	@Autowired
+	private OutboxService outboxService;
+	
+	@Autowired
+	private VoterBitmapIndex voterBitmapIndex;
+	
+	@Autowired
+	private NewsReadModel newsReadModel;
+	
+	// One counter UPDATE, the vote insert and its outbox event; reclassification runs
+	// in CategoryOutboxHandler off the request thread.
+	@Transactional
+	public VotesAndComments saveVote(Long newsId, Integer userId, String name, VotesAndComments.VoteType vote,
+									 String comment, String imageUrl) {
+		int up = vote == VotesAndComments.VoteType.upvote ? 1 : 0;
+		int down = vote == VotesAndComments.VoteType.downvote ? 1 : 0;
+		int comments = comment != null ? 1 : 0;
+		if (newsRepository.incrementCounters(newsId, up, down, comments) == 0) {
+			throw new RuntimeException("News not found");
+		}
+		
+		VotesAndComments vc = new VotesAndComments();
+		vc.setUserId(userId);
+		vc.setName(name);
+		vc.setVote(vote);
+		vc.setComment(comment);
+		vc.setImageUrl(imageUrl);
+		vc.setVisible(true);
+		vc.setNews(newsRepository.getReferenceById(newsId));
+		
+		votesRepo.save(vc);
+		
+		Map<String, Object> payload = new HashMap<>();
+		payload.put("voteId", vc.getId());
+		payload.put("userId", userId);
+		payload.put("vote", vote.name());
+		long eventId = outboxService.publish(newsId, OutboxEvent.EventType.VOTE_CREATED, payload).getId();
+		
+		// The voter index and the story's counters are read right after voting, so update them on
+		// commit instead of waiting for the outbox.
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				voterBitmapIndex.recordVote(newsId, userId, vote);
+				newsReadModel.applyVote(newsId, eventId, up, down, comments);
+			}
+		});
+		return vc;
+	}
+}
@@ -0,0 +1,174 @@
+package com.checkitoff.checkitoff_backend.service;
+
+import com.checkitoff.checkitoff_backend.dto.VoterEntry;
+import com.checkitoff.checkitoff_backend.model.OutboxEvent;
+import com.checkitoff.checkitoff_backend.model.VotesAndComments;
+import com.checkitoff.checkitoff_backend.repository.VotesAndCommentsRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-story compressed bitmaps of the user ids that up- or down-voted it (visible votes only).
+ * Answers "has user X voted on these stories" without touching votesandcomments.
+ * New votes are added right after commit; hide/show and archive events reload the story from the database.
+ * A rebuild fills a new map and swaps it in, so lookups keep using the old one meanwhile. Stories
+ * touched while it ran are reloaded after the swap, so those changes are not lost with the old map.
+ */
+@Component
+public class VoterBitmapIndex implements OutboxEventHandler {
+	
+	@Autowired
+	private VotesAndCommentsRepository votesRepo;
+	
+	@Autowired
+	private ObjectMapper objectMapper;
+	
+	private volatile Map<Long, StoryVoters> stories = new ConcurrentHashMap<>();
+	
+	// Non-null while a rebuild runs. Writers register here before touching the map.
+	private volatile Set<Long> changedDuringRebuild;
+	
+	@EventListener(ApplicationReadyEvent.class)
+	public synchronized void rebuild() {
+		Set<Long> changed = ConcurrentHashMap.newKeySet();
+		changedDuringRebuild = changed;
+		try {
+			Map<Long, StoryVoters> loaded = new ConcurrentHashMap<>();
+			for (VoterEntry entry : votesRepo.findAllVisibleVoters()) {
+				loaded.computeIfAbsent(entry.newsId(), k -> new StoryVoters()).add(entry.userId(), entry.vote());
+			}
+			loaded.values().forEach(StoryVoters::optimize);
+			stories = loaded;
+		} finally {
+			changedDuringRebuild = null;
+		}
+		// A writer that still saw the old map registered before the swap, so it is in this set.
+		changed.forEach(this::reload);
+	}
+	
+	public void recordVote(Long newsId, Integer userId, VotesAndComments.VoteType vote) {
+		if (userId == null || vote == null) return;
+		touched(newsId);
+		stories.computeIfAbsent(newsId, k -> new StoryVoters()).add(userId, vote);
+	}
+	
+	public void reload(Long newsId) {
+		touched(newsId);
+		StoryVoters voters = new StoryVoters();
+		for (VoterEntry entry : votesRepo.findVisibleVotersByNewsId(newsId)) {
+			voters.add(entry.userId(), entry.vote());
+		}
+		voters.optimize();
+		if (voters.isEmpty()) stories.remove(newsId);
+		else stories.put(newsId, voters);
+	}
+	
+	@Override
+	public boolean perInstance() {
+		return true;
+	}
+	
+	@Override
+	public void handle(Long newsId, List<OutboxEvent> events) {
+		boolean reload = false;
+		for (OutboxEvent event : events) {
+			if (event.getEventType() == OutboxEvent.EventType.VOTE_CREATED) {
+				recordVote(newsId, event);
+			} else {
+				reload = true;
+			}
+		}
+		if (reload) reload(newsId);
+	}
+	
+	// "upvote", "downvote", "both" or "none" for every requested story.
+	public Map<Long, String> votedStatus(int userId, Collection<Long> newsIds) {
+		Map<Long, String> result = new LinkedHashMap<>();
+		for (Long newsId : newsIds) {
+			StoryVoters voters = stories.get(newsId);
+			result.put(newsId, voters != null ? voters.status(userId) : "none");
+		}
+		return result;
+	}
+	
+	public List<Map<String, Object>> memoryStats(int limit) {
+		List<Map<String, Object>> rows = new ArrayList<>();
+		stories.forEach((newsId, voters) -> rows.add(voters.stats(newsId)));
+		rows.sort(Comparator.comparingLong((Map<String, Object> row) -> (Long) row.get("bytes")).reversed());
+		return rows.size() > limit ? rows.subList(0, limit) : rows;
+	}
+	
+	public long totalBytes() {
+		return stories.values().stream().mapToLong(StoryVoters::bytes).sum();
+	}
+	
+	public int storyCount() {
+		return stories.size();
+	}
+	
+	private void touched(Long newsId) {
+		Set<Long> changed = changedDuringRebuild;
+		if (changed != null) changed.add(newsId);
+	}
+	
+	private void recordVote(Long newsId, OutboxEvent event) {
+		try {
+			JsonNode payload = objectMapper.readTree(event.getPayload());
+			if (payload.hasNonNull("userId") && payload.hasNonNull("vote")) {
+				recordVote(newsId, payload.get("userId").asInt(),
+						VotesAndComments.VoteType.valueOf(payload.get("vote").asText()));
+			}
+		} catch (Exception e) {
+			reload(newsId);
+		}
+	}
+	
+	private static final class StoryVoters {
+		private final RoaringBitmap up = new RoaringBitmap();
+		private final RoaringBitmap down = new RoaringBitmap();
+		
+		synchronized void add(int userId, VotesAndComments.VoteType vote) {
+			if (vote == VotesAndComments.VoteType.upvote) up.add(userId);
+			else if (vote == VotesAndComments.VoteType.downvote) down.add(userId);
+		}
+		
+		synchronized String status(int userId) {
+			boolean upvoted = up.contains(userId);
+			boolean downvoted = down.contains(userId);
+			if (upvoted && downvoted) return "both";
+			if (upvoted) return "upvote";
+			if (downvoted) return "downvote";
+			return "none";
+		}
+		
+		synchronized void optimize() {
+			up.runOptimize();
+			down.runOptimize();
+		}
+		
+		synchronized boolean isEmpty() {
+			return up.isEmpty() && down.isEmpty();
+		}
+		
+		synchronized long bytes() {
+			return up.getLongSizeInBytes() + down.getLongSizeInBytes();
+		}
+		
+		synchronized Map<String, Object> stats(Long newsId) {
+			Map<String, Object> row = new HashMap<>();
+			row.put("newsId", newsId);
+			row.put("upVoters", up.getCardinality());
+			row.put("downVoters", down.getCardinality());
+			row.put("bytes", up.getLongSizeInBytes() + down.getLongSizeInBytes());
+			return row;
+		}
+	}
+}
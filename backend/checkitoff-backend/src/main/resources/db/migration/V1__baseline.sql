@@ -0,0 +1,45 @@
+-- Schema as it stood before versioned migrations. Existing databases are baselined
+-- at this version (spring.flyway.baseline-on-migrate) and skip it.
+
+CREATE TABLE news (
+    id               BIGINT       NOT NULL AUTO_INCREMENT,
+    title            VARCHAR(255),
+    category         VARCHAR(255),
+    description      TEXT,
+    fulldescription  LONGTEXT,
+    author           VARCHAR(255),
+    date             VARCHAR(255),
+    image            VARCHAR(255),
+    up_votes         INTEGER,
+    down_votes       INTEGER,
+    comments_count   INTEGER,
+    visible          BIT,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE users (
+    id       BIGINT       NOT NULL AUTO_INCREMENT,
+    name     VARCHAR(255),
+    surname  VARCHAR(255),
+    email    VARCHAR(255),
+    password VARCHAR(255),
+    role     VARCHAR(255),
+    visible  TINYINT(1)   NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE votesandcomments (
+    id         BIGINT       NOT NULL AUTO_INCREMENT,
+    news_id    BIGINT       NOT NULL,
+    user_id    INTEGER,
+    name       VARCHAR(255),
+    vote       ENUM ('upvote', 'downvote'),
+    up_votes   INTEGER      NOT NULL,
+    down_votes INTEGER      NOT NULL,
+    comment    VARCHAR(255),
+    image_url  VARCHAR(255),
+    created_at DATETIME(6)  DEFAULT CURRENT_TIMESTAMP(6),
+    is_visible BIT          NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_votesandcomments_news FOREIGN KEY (news_id) REFERENCES news (id)
+) ENGINE = InnoDB;
@@ -0,0 +1,52 @@
+-- Moderation feed (seek paging by id per visibility / story / user) and the paged user directory.
+-- Every step is skipped when its object already exists, because databases that ran under
+-- ddl-auto=update before being baselined may have the indexes from the entity mappings.
+
+SET @ddl = IF(EXISTS(SELECT 1 FROM information_schema.statistics
+                     WHERE table_schema = DATABASE() AND table_name = 'votesandcomments' AND index_name = 'idx_vc_visible_id'),
+              'DO 0', 'CREATE INDEX idx_vc_visible_id ON votesandcomments (is_visible, id)');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @ddl = IF(EXISTS(SELECT 1 FROM information_schema.statistics
+                     WHERE table_schema = DATABASE() AND table_name = 'votesandcomments' AND index_name = 'idx_vc_news_id'),
+              'DO 0', 'CREATE INDEX idx_vc_news_id ON votesandcomments (news_id, id)');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @ddl = IF(EXISTS(SELECT 1 FROM information_schema.statistics
+                     WHERE table_schema = DATABASE() AND table_name = 'votesandcomments' AND index_name = 'idx_vc_user_id'),
+              'DO 0', 'CREATE INDEX idx_vc_user_id ON votesandcomments (user_id, id)');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @ddl = IF(EXISTS(SELECT 1 FROM information_schema.statistics
+                     WHERE table_schema = DATABASE() AND table_name = 'users' AND index_name = 'idx_users_name'),
+              'DO 0', 'CREATE INDEX idx_users_name ON users (name)');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @ddl = IF(EXISTS(SELECT 1 FROM information_schema.statistics
+                     WHERE table_schema = DATABASE() AND table_name = 'users' AND index_name = 'idx_users_surname'),
+              'DO 0', 'CREATE INDEX idx_users_surname ON users (surname)');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @ddl = IF(EXISTS(SELECT 1 FROM information_schema.statistics
+                     WHERE table_schema = DATABASE() AND table_name = 'users' AND index_name = 'idx_users_email'),
+              'DO 0', 'CREATE INDEX idx_users_email ON users (email)');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @ddl = IF(EXISTS(SELECT 1 FROM information_schema.statistics
+                     WHERE table_schema = DATABASE() AND table_name = 'users' AND index_name = 'idx_users_role_visible'),
+              'DO 0', 'CREATE INDEX idx_users_role_visible ON users (role, visible)');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
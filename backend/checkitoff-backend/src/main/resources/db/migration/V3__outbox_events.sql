@@ -0,0 +1,21 @@
+-- Transactional outbox for vote / moderation / story side effects.
+-- Safe to re-run over a table Hibernate already created (see V2).
+
+CREATE TABLE IF NOT EXISTS outbox_events (
+    id           BIGINT       NOT NULL AUTO_INCREMENT,
+    news_id      BIGINT       NOT NULL,
+    event_type   ENUM ('VOTE_CREATED', 'COMMENT_VISIBILITY_CHANGED', 'NEWS_CHANGED') NOT NULL,
+    payload      TEXT,
+    created_at   DATETIME(6)  NOT NULL,
+    processed_at DATETIME(6),
+    attempts     INTEGER      NOT NULL,
+    last_error   VARCHAR(500),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+SET @ddl = IF(EXISTS(SELECT 1 FROM information_schema.statistics
+                     WHERE table_schema = DATABASE() AND table_name = 'outbox_events' AND index_name = 'idx_outbox_pending'),
+              'DO 0', 'CREATE INDEX idx_outbox_pending ON outbox_events (processed_at, id)');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
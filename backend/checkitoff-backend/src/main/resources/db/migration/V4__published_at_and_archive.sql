@@ -0,0 +1,42 @@
+-- Typed publication time for ordering and range queries, plus the archive tables.
+-- Existing rows get published_at from NewsService.backfillPublishedAt on the next start.
+-- Safe to re-run over columns and indexes Hibernate already created (see V2).
+
+SET @ddl = IF(EXISTS(SELECT 1 FROM information_schema.columns
+                     WHERE table_schema = DATABASE() AND table_name = 'news' AND column_name = 'published_at'),
+              'DO 0', 'ALTER TABLE news ADD COLUMN published_at DATETIME(6)');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @ddl = IF(EXISTS(SELECT 1 FROM information_schema.columns
+                     WHERE table_schema = DATABASE() AND table_name = 'news' AND column_name = 'date_unparseable'),
+              'DO 0', 'ALTER TABLE news ADD COLUMN date_unparseable TINYINT(1) NOT NULL DEFAULT 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @ddl = IF(EXISTS(SELECT 1 FROM information_schema.statistics
+                     WHERE table_schema = DATABASE() AND table_name = 'news' AND index_name = 'idx_news_published_at'),
+              'DO 0', 'CREATE INDEX idx_news_published_at ON news (published_at)');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @ddl = IF(EXISTS(SELECT 1 FROM information_schema.statistics
+                     WHERE table_schema = DATABASE() AND table_name = 'news' AND index_name = 'idx_news_visible_published_at'),
+              'DO 0', 'CREATE INDEX idx_news_visible_published_at ON news (visible, published_at)');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @ddl = IF(EXISTS(SELECT 1 FROM information_schema.statistics
+                     WHERE table_schema = DATABASE() AND table_name = 'votesandcomments' AND index_name = 'idx_vc_created_at'),
+              'DO 0', 'CREATE INDEX idx_vc_created_at ON votesandcomments (created_at)');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- Created after the columns above so the archive tables match the hot tables.
+CREATE TABLE IF NOT EXISTS news_archive LIKE news;
+CREATE TABLE IF NOT EXISTS votesandcomments_archive LIKE votesandcomments;
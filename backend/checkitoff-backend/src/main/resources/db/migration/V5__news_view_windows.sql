@@ -0,0 +1,18 @@
+-- Per-window view counts of the most viewed stories.
+-- Safe to re-run over a table Hibernate already created (see V2).
+
+CREATE TABLE IF NOT EXISTS news_view_windows (
+    id           BIGINT      NOT NULL AUTO_INCREMENT,
+    news_id      BIGINT      NOT NULL,
+    window_start DATETIME(6) NOT NULL,
+    window_end   DATETIME(6) NOT NULL,
+    views        BIGINT      NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+SET @ddl = IF(EXISTS(SELECT 1 FROM information_schema.statistics
+                     WHERE table_schema = DATABASE() AND table_name = 'news_view_windows' AND index_name = 'idx_news_views_window'),
+              'DO 0', 'CREATE INDEX idx_news_views_window ON news_view_windows (window_start, news_id)');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
@@ -0,0 +1,23 @@
+-- Outbox leases (one instance runs the database side effects of an event) and parked events
+-- (failed max-attempts times; kept out of retries and cleanup). Safe to re-run (see V2).
+
+SET @ddl = IF(EXISTS(SELECT 1 FROM information_schema.columns
+                     WHERE table_schema = DATABASE() AND table_name = 'outbox_events' AND column_name = 'parked_at'),
+              'DO 0', 'ALTER TABLE outbox_events ADD COLUMN parked_at DATETIME(6)');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @ddl = IF(EXISTS(SELECT 1 FROM information_schema.columns
+                     WHERE table_schema = DATABASE() AND table_name = 'outbox_events' AND column_name = 'claimed_by'),
+              'DO 0', 'ALTER TABLE outbox_events ADD COLUMN claimed_by VARCHAR(64)');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @ddl = IF(EXISTS(SELECT 1 FROM information_schema.columns
+                     WHERE table_schema = DATABASE() AND table_name = 'outbox_events' AND column_name = 'claimed_until'),
+              'DO 0', 'ALTER TABLE outbox_events ADD COLUMN claimed_until DATETIME(6)');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
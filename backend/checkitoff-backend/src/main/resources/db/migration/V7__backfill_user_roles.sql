@@ -0,0 +1,4 @@
+-- Users created before roles were stored have a NULL role; they are readers. Backfilling them
+-- lets the directory filter on role directly and use idx_users_role_visible. Safe to re-run (see V2).
+
+UPDATE users SET role = 'READER' WHERE role IS NULL;
@@ -0,0 +1,80 @@
+package com.checkitoff.checkitoff_backend.benchmark;
+
+import com.checkitoff.checkitoff_backend.model.News;
+import com.checkitoff.checkitoff_backend.service.NearDuplicateService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Latency of the near-duplicate check that story creation runs on the request thread, against an
+ * index of already classified stories. A tenth of the incoming stories are light edits of indexed
+ * ones, so some checks hit crowded buckets.
+ * Not a unit test; run the main method, optionally with the index size and number of checks.
+ */
+public class NearDuplicateBenchmark {
+	
+	private static final String[] WORDS = {"flood", "election", "vaccine", "river", "market", "minister",
+			"police", "school", "storm", "price", "rice", "farmers", "bangkok", "chiang", "mai", "border",
+			"report", "claims", "viral", "post", "video", "rumour", "officials", "confirm", "deny", "new"};
+	
+	public static void main(String[] args) {
+		int stories = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+		int checks = args.length > 1 ? Integer.parseInt(args[1]) : 5_000;
+		Random random = new Random(7);
+		
+		NearDuplicateService service = new NearDuplicateService();
+		ReflectionTestUtils.setField(service, "similarityThreshold", 0.6);
+		ReflectionTestUtils.setField(service, "checkBudgetMillis", 20L);
+		String[] titles = new String[stories];
+		long indexStart = System.nanoTime();
+		for (int i = 0; i < stories; i++) {
+			titles[i] = sentence(random, 12);
+			service.index(news((long) i + 1, titles[i], i % 2 == 0 ? "Verified" : "Fake News"));
+		}
+		long indexNanos = System.nanoTime() - indexStart;
+		
+		// Warm up, then measure.
+		for (int i = 0; i < 1_000; i++) {
+			service.findClassifiedDuplicates(news(null, incoming(random, titles), "Unverified"));
+		}
+		long[] nanos = new long[checks];
+		int matched = 0;
+		for (int i = 0; i < checks; i++) {
+			News news = news(null, incoming(random, titles), "Unverified");
+			long start = System.nanoTime();
+			if (!service.findClassifiedDuplicates(news).isEmpty()) matched++;
+			nanos[i] = System.nanoTime() - start;
+		}
+		Arrays.sort(nanos);
+		
+		System.out.printf("indexed stories:   %,d (%.1f µs/story)%n", stories, indexNanos / 1_000.0 / stories);
+		System.out.printf("checks:            %,d (%,d with a match)%n", checks, matched);
+		System.out.printf("p50 / p99 / max:   %.3f / %.3f / %.3f ms%n",
+				nanos[checks / 2] / 1e6, nanos[checks * 99 / 100] / 1e6, nanos[checks - 1] / 1e6);
+		System.out.printf("service metrics:   %s%n", service.metrics());
+	}
+	
+	private static String incoming(Random random, String[] titles) {
+		if (random.nextInt(10) > 0) return sentence(random, 12);
+		return titles[random.nextInt(titles.length)] + " " + WORDS[random.nextInt(WORDS.length)];
+	}
+	
+	private static String sentence(Random random, int words) {
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < words; i++) {
+			if (i > 0) sb.append(' ');
+			sb.append(WORDS[random.nextInt(WORDS.length)]);
+		}
+		return sb.toString();
+	}
+	
+	private static News news(Long id, String title, String category) {
+		News news = new News();
+		news.setId(id);
+		news.setTitle(title);
+		news.setCategory(category);
+		return news;
+	}
+}
@@ -0,0 +1,66 @@
+package com.checkitoff.checkitoff_backend.benchmark;
+
+import com.checkitoff.checkitoff_backend.model.News;
+import com.checkitoff.checkitoff_backend.service.NewsReadModel;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Heap cost per story of the columnar read model versus keeping News entities around.
+ * Not a unit test; run the main method with a fixed heap, e.g. -Xms1g -Xmx1g.
+ */
+public class ReadModelMemoryBenchmark {
+	
+	private static final String[] CATEGORIES = {"Unverified", "Verified", "Fake News"};
+	private static final String[] AUTHORS = {"Reuters", "AP", "Thai PBS", "Bangkok Post", "Khaosod", "BBC Thai"};
+	
+	public static void main(String[] args) {
+		int stories = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+		
+		long base = usedHeap();
+		List<News> entities = generate(stories);
+		long entityBytes = usedHeap() - base;
+		
+		NewsReadModel readModel = new NewsReadModel();
+		readModel.load(entities);
+		entities = null;
+		long readModelBytes = usedHeap() - base;
+		
+		System.out.printf("stories:                    %,d%n", stories);
+		System.out.printf("News entities (measured):   %,d bytes/story%n", entityBytes / stories);
+		System.out.printf("read model (measured):      %,d bytes/story%n", readModelBytes / stories);
+		System.out.printf("read model (self-reported): %s%n", readModel.memoryReport());
+	}
+	
+	private static List<News> generate(int count) {
+		List<News> result = new ArrayList<>(count);
+		LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0);
+		for (int i = 1; i <= count; i++) {
+			News news = new News();
+			news.setId((long) i);
+			news.setTitle("Claim number " + i + " about a viral post spreading online");
+			news.setDescription("Short summary of claim " + i + " shown on the news card in the feed.");
+			news.setCategory(CATEGORIES[i % CATEGORIES.length]);
+			news.setAuthor(AUTHORS[i % AUTHORS.length]);
+			news.setDate(start.plusHours(i).toLocalDate().toString());
+			news.setPublishedAt(start.plusHours(i));
+			news.setImage("/src/assets/NewsImages/" + (i % 24 + 1) + ".png");
+			news.setUpVotes(i % 97);
+			news.setDownVotes(i % 31);
+			news.setCommentsCount(i % 13);
+			news.setVisible(i % 50 != 0);
+			result.add(news);
+		}
+		return result;
+	}
+	
+	private static long usedHeap() {
+		for (int i = 0; i < 3; i++) {
+			System.gc();
+		}
+		Runtime runtime = Runtime.getRuntime();
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+}
@@ -0,0 +1,139 @@
+package com.checkitoff.checkitoff_backend.benchmark;
+
+import com.checkitoff.checkitoff_backend.dto.ModerationFeedItem;
+import com.checkitoff.checkitoff_backend.dto.NewsSummary;
+import com.checkitoff.checkitoff_backend.model.News;
+import com.checkitoff.checkitoff_backend.model.VotesAndComments;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Payload size and serialization throughput of the summary DTOs as JSON and as CBOR, written by two
+ * mappers configured identically (java.time support, ISO dates, Blackbird), plus the entity / HashMap
+ * JSON the endpoints returned before. Not a unit test; run the main method.
+ */
+public class SerializationBenchmark {
+	
+	private static final int WARMUP_ROUNDS = 2_000;
+	private static final int MEASURED_ROUNDS = 5_000;
+	
+	public static void main(String[] args) throws Exception {
+		int rows = args.length > 0 ? Integer.parseInt(args[0]) : 50;
+		
+		ObjectMapper json = configure(new ObjectMapper());
+		ObjectMapper cbor = configure(new ObjectMapper(new CBORFactory()));
+		
+		List<News> entities = newsEntities(rows);
+		List<NewsSummary> summaries = entities.stream().map(SerializationBenchmark::toSummary).toList();
+		List<Map<String, Object>> commentMaps = commentMaps(rows);
+		List<ModerationFeedItem> commentItems = commentItems(rows);
+		
+		System.out.printf("%d rows per response, %d measured rounds%n%n", rows, MEASURED_ROUNDS);
+		System.out.printf("%-36s %12s %14s%n", "case", "bytes", "ops/s");
+		run("news: JSON entities (before)", json.writer(), entities);
+		run("news: JSON summaries", listWriter(json, NewsSummary.class), summaries);
+		run("news: CBOR summaries", listWriter(cbor, NewsSummary.class), summaries);
+		run("comments: JSON maps (before)", json.writer(), commentMaps);
+		run("comments: JSON summaries", listWriter(json, ModerationFeedItem.class), commentItems);
+		run("comments: CBOR summaries", listWriter(cbor, ModerationFeedItem.class), commentItems);
+	}
+	
+	private static ObjectWriter listWriter(ObjectMapper mapper, Class<?> elementType) {
+		return mapper.writerFor(mapper.getTypeFactory().constructCollectionType(List.class, elementType));
+	}
+	
+	private static void run(String name, ObjectWriter writer, Object value) throws Exception {
+		int size = writer.writeValueAsBytes(value).length;
+		for (int i = 0; i < WARMUP_ROUNDS; i++) {
+			writer.writeValueAsBytes(value);
+		}
+		long start = System.nanoTime();
+		long sink = 0;
+		for (int i = 0; i < MEASURED_ROUNDS; i++) {
+			sink += writer.writeValueAsBytes(value).length;
+		}
+		double seconds = (System.nanoTime() - start) / 1e9;
+		System.out.printf("%-36s %12d %14.0f%s%n", name, size, MEASURED_ROUNDS / seconds, sink == 0 ? "!" : "");
+	}
+	
+	private static ObjectMapper configure(ObjectMapper mapper) {
+		return mapper.registerModule(new JavaTimeModule())
+				.registerModule(new BlackbirdModule())
+				.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+	}
+	
+	private static List<News> newsEntities(int count) {
+		List<News> result = new ArrayList<>(count);
+		for (int i = 1; i <= count; i++) {
+			News news = new News();
+			news.setId((long) i);
+			news.setTitle("Claim number " + i + " about a viral post spreading online");
+			news.setCategory(i % 3 == 0 ? "Fake News" : i % 3 == 1 ? "Verified" : "Unverified");
+			news.setDescription("Short summary of claim " + i + " shown on the news card in the feed.");
+			news.setFullDescription("Full write-up of claim " + i + ". ".repeat(40));
+			news.setAuthor("Reuters");
+			news.setDate("2025-01-" + String.format("%02d", i % 28 + 1));
+			news.setPublishedAt(LocalDateTime.of(2025, 1, i % 28 + 1, 0, 0));
+			news.setImage("/src/assets/NewsImages/" + (i % 24 + 1) + ".png");
+			news.setUpVotes(i * 3);
+			news.setDownVotes(i);
+			news.setCommentsCount(i % 17);
+			result.add(news);
+		}
+		return result;
+	}
+	
+	private static NewsSummary toSummary(News n) {
+		return new NewsSummary(n.getId(), n.getTitle(), n.getCategory(), n.getDescription(), n.getAuthor(),
+				n.getDate(), n.getImage(), n.getPublishedAt(), n.getUpVotes(), n.getDownVotes(),
+				n.getCommentsCount(), n.getVisible());
+	}
+	
+	private static List<Map<String, Object>> commentMaps(int count) {
+		List<Map<String, Object>> result = new ArrayList<>(count);
+		for (ModerationFeedItem item : commentItems(count)) {
+			Map<String, Object> news = new HashMap<>();
+			news.put("id", item.newsId());
+			news.put("title", item.newsTitle());
+			news.put("category", item.newsCategory());
+			
+			Map<String, Object> row = new HashMap<>();
+			row.put("id", item.id());
+			row.put("userId", item.userId());
+			row.put("name", item.name());
+			row.put("vote", item.vote());
+			row.put("comment", item.comment());
+			row.put("imageUrl", item.imageUrl());
+			row.put("createdAt", item.createdAt());
+			row.put("isVisible", item.isVisible());
+			row.put("upVotes", 0);
+			row.put("downVotes", 0);
+			row.put("news", news);
+			result.add(row);
+		}
+		return result;
+	}
+	
+	private static List<ModerationFeedItem> commentItems(int count) {
+		List<ModerationFeedItem> result = new ArrayList<>(count);
+		Timestamp createdAt = Timestamp.valueOf(LocalDateTime.of(2025, 1, 1, 12, 0));
+		for (int i = 1; i <= count; i++) {
+			result.add(new ModerationFeedItem((long) i, i % 40, "Reader " + i,
+					i % 2 == 0 ? VotesAndComments.VoteType.upvote : VotesAndComments.VoteType.downvote,
+					"This looks edited, the original photo is from 2019 (" + i + ")", null, createdAt, true,
+					(long) (i % 10 + 1), "Claim number " + (i % 10 + 1), "Unverified"));
+		}
+		return result;
+	}
+}
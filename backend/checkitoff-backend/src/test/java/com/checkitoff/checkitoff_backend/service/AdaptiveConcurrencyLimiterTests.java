@@ -0,0 +1,127 @@
+package com.checkitoff.checkitoff_backend.service;
+
+import com.checkitoff.checkitoff_backend.service.AdaptiveConcurrencyLimiter.Priority;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimiterTests {
+
+	private static final long WINDOW_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+	private long now;
+	private AdaptiveConcurrencyLimiter limiter;
+
+	@BeforeEach
+	void setUp() {
+		limiter = new AdaptiveConcurrencyLimiter(40, 8, 400, 100);
+		limiter.clock = () -> now;
+	}
+
+	@Test
+	void growsWhileBusyAndLatencyIsFlat() {
+		hold(30);
+		for (int i = 0; i < 30; i++) {
+			window(millis(10), 20);
+		}
+
+		assertThat(limit()).isGreaterThan(40);
+	}
+
+	@Test
+	void doesNotGrowWhileMostlyIdle() {
+		for (int i = 0; i < 30; i++) {
+			window(millis(10), 20);
+		}
+
+		assertThat(limit()).isEqualTo(40);
+	}
+
+	@Test
+	void shrinksWhenLatencyRisesButNotBelowTheMinimum() {
+		hold(30);
+		for (int i = 0; i < 10; i++) {
+			window(millis(10), 20);
+		}
+		int before = limit();
+
+		for (int i = 0; i < 5; i++) {
+			window(millis(80), 20);
+		}
+		int after = limit();
+		assertThat(after).isLessThan(before);
+
+		for (int i = 0; i < 200; i++) {
+			window(millis(80 + 10L * i), 20);
+		}
+		assertThat(limit()).isGreaterThanOrEqualTo(8);
+	}
+
+	@Test
+	void limitMovesOncePerWindowAfterEnoughSamples() {
+		hold(30);
+		for (int i = 0; i < 9; i++) {
+			cycle(millis(10));
+		}
+		assertThat(limiter.metrics().get("shortRttMillis")).isEqualTo(0.0);
+
+		cycle(millis(10));
+		assertThat(limiter.metrics().get("shortRttMillis")).isEqualTo(10.0);
+
+		// Same window: further completions only accumulate.
+		for (int i = 0; i < 50; i++) {
+			cycle(millis(500));
+		}
+		assertThat(limiter.metrics().get("shortRttMillis")).isEqualTo(10.0);
+		assertThat(limit()).isEqualTo(40);
+	}
+
+	@Test
+	void concurrentReleasesKeepInFlightConsistent() throws InterruptedException {
+		limiter.clock = System::nanoTime;
+		List<Thread> threads = new ArrayList<>();
+		for (int t = 0; t < 8; t++) {
+			threads.add(Thread.ofPlatform().start(() -> {
+				for (int i = 0; i < 20_000; i++) {
+					if (limiter.tryAcquire(Priority.ADMIN)) limiter.release(millis(1));
+				}
+			}));
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		assertThat(limiter.metrics().get("inFlight")).isEqualTo(0);
+		assertThat(limit()).isBetween(8, 400);
+	}
+
+	private void hold(int requests) {
+		for (int i = 0; i < requests; i++) {
+			assertThat(limiter.tryAcquire(Priority.ADMIN)).isTrue();
+		}
+	}
+
+	private void window(long rttNanos, int completions) {
+		now += WINDOW_NANOS;
+		for (int i = 0; i < completions; i++) {
+			cycle(rttNanos);
+		}
+	}
+
+	private void cycle(long rttNanos) {
+		if (limiter.tryAcquire(Priority.ADMIN)) limiter.release(rttNanos);
+	}
+
+	private int limit() {
+		return (int) limiter.metrics().get("limit");
+	}
+
+	private static long millis(long millis) {
+		return TimeUnit.MILLISECONDS.toNanos(millis);
+	}
+}
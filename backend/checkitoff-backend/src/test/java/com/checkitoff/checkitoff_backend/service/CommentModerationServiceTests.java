@@ -0,0 +1,153 @@
+package com.checkitoff.checkitoff_backend.service;
+
+import com.checkitoff.checkitoff_backend.dto.BulkVisibilityResult;
+import com.checkitoff.checkitoff_backend.model.News;
+import com.checkitoff.checkitoff_backend.model.OutboxEvent;
+import com.checkitoff.checkitoff_backend.model.VotesAndComments;
+import com.checkitoff.checkitoff_backend.repository.NewsRepository;
+import com.checkitoff.checkitoff_backend.repository.VotesAndCommentsRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class CommentModerationServiceTests {
+
+	private NewsRepository newsRepository;
+	private VotesAndCommentsRepository votesRepo;
+	private OutboxService outboxService;
+	private CommentModerationService service;
+
+	@BeforeEach
+	void setUp() {
+		newsRepository = mock(NewsRepository.class);
+		votesRepo = mock(VotesAndCommentsRepository.class);
+		outboxService = mock(OutboxService.class);
+		service = new CommentModerationService();
+		ReflectionTestUtils.setField(service, "newsRepository", newsRepository);
+		ReflectionTestUtils.setField(service, "votesRepo", votesRepo);
+		ReflectionTestUtils.setField(service, "outboxService", outboxService);
+	}
+
+	@Test
+	void idListAdjustsCountersBeforeFlippingTheRows() {
+		List<Long> ids = List.of(1L, 2L, 3L);
+		when(votesRepo.findNewsIdsForVisibilityChange(ids, false)).thenReturn(List.of(10L, 11L));
+		when(newsRepository.adjustCountsForCommentIds(ids, false, -1)).thenReturn(2);
+		when(votesRepo.updateVisibilityByIds(ids, false)).thenReturn(3);
+
+		BulkVisibilityResult result = service.setVisibilityByIds(ids, false);
+
+		assertThat(result.updatedComments()).isEqualTo(3);
+		assertThat(result.updatedNews()).isEqualTo(2);
+		// The grouped update only counts rows that are still on the other side of the flip.
+		InOrder order = inOrder(votesRepo, newsRepository);
+		order.verify(votesRepo).findNewsIdsForVisibilityChange(ids, false);
+		order.verify(newsRepository).adjustCountsForCommentIds(ids, false, -1);
+		order.verify(votesRepo).updateVisibilityByIds(ids, false);
+		verify(outboxService).publishAll(eq(List.of(10L, 11L)), eq(OutboxEvent.EventType.COMMENT_VISIBILITY_CHANGED), any());
+	}
+
+	@Test
+	void showingByIdsAddsTheCountersBack() {
+		List<Long> ids = List.of(4L);
+		when(votesRepo.findNewsIdsForVisibilityChange(ids, true)).thenReturn(List.of(10L));
+
+		service.setVisibilityByIds(ids, true);
+
+		verify(newsRepository).adjustCountsForCommentIds(ids, true, 1);
+		verify(votesRepo).updateVisibilityByIds(ids, true);
+	}
+
+	@Test
+	void filterAdjustsCountersBeforeFlippingTheRows() {
+		when(votesRepo.findNewsIdsForVisibilityChange(7, null, false)).thenReturn(List.of(10L, 12L));
+		when(newsRepository.adjustCountsForCommentFilter(7, null, false, -1)).thenReturn(2);
+		when(votesRepo.updateVisibilityByFilter(7, null, false)).thenReturn(5);
+
+		BulkVisibilityResult result = service.setVisibilityByFilter(7, null, false);
+
+		assertThat(result.updatedComments()).isEqualTo(5);
+		assertThat(result.updatedNews()).isEqualTo(2);
+		InOrder order = inOrder(votesRepo, newsRepository);
+		order.verify(votesRepo).findNewsIdsForVisibilityChange(7, null, false);
+		order.verify(newsRepository).adjustCountsForCommentFilter(7, null, false, -1);
+		order.verify(votesRepo).updateVisibilityByFilter(7, null, false);
+		verify(outboxService).publishAll(eq(List.of(10L, 12L)), eq(OutboxEvent.EventType.COMMENT_VISIBILITY_CHANGED), any());
+	}
+
+	@Test
+	void filterNeedsAUserOrAStory() {
+		assertThatThrownBy(() -> service.setVisibilityByFilter(null, null, false))
+				.isInstanceOf(IllegalArgumentException.class);
+
+		verifyNoInteractions(newsRepository, votesRepo, outboxService);
+	}
+
+	@Test
+	void singleCommentGoesThroughTheSameGroupedUpdateAsTheBulkPath() {
+		News news = news(10L);
+		// A vote without comment text: the grouped update leaves comments_count alone for it.
+		when(votesRepo.findById(5L)).thenReturn(Optional.of(vote(5L, news, null)));
+		when(votesRepo.findNewsIdsForVisibilityChange(List.of(5L), false)).thenReturn(List.of(10L));
+		News reloaded = news(10L);
+		reloaded.setUpVotes(2);
+		reloaded.setCommentsCount(4);
+		when(newsRepository.findById(10L)).thenReturn(Optional.of(reloaded));
+
+		News result = service.updateVisibility(5L, false);
+
+		assertThat(result).isSameAs(reloaded);
+		verify(newsRepository).adjustCountsForCommentIds(List.of(5L), false, -1);
+		verify(votesRepo).updateVisibilityByIds(List.of(5L), false);
+		verify(newsRepository, never()).save(any());
+		verify(votesRepo, never()).save(any());
+		verify(outboxService).publishAll(eq(List.of(10L)), eq(OutboxEvent.EventType.COMMENT_VISIBILITY_CHANGED),
+				eq(Map.of("bulk", true, "visible", false)));
+	}
+
+	@Test
+	void missingCommentChangesNothing() {
+		when(votesRepo.findById(5L)).thenReturn(Optional.empty());
+
+		assertThatThrownBy(() -> service.updateVisibility(5L, false)).hasMessage("Comment not found");
+
+		verify(newsRepository, never()).adjustCountsForCommentIds(anyCollection(), anyBoolean(), anyInt());
+		verify(votesRepo, never()).updateVisibilityByIds(anyCollection(), anyBoolean());
+		verifyNoInteractions(outboxService);
+	}
+
+	private static News news(Long id) {
+		News news = new News();
+		news.setId(id);
+		return news;
+	}
+
+	private static VotesAndComments vote(Long id, News news, String comment) {
+		VotesAndComments vote = new VotesAndComments();
+		vote.setId(id);
+		vote.setNews(news);
+		vote.setComment(comment);
+		vote.setVote(VotesAndComments.VoteType.upvote);
+		vote.setVisible(true);
+		return vote;
+	}
+}
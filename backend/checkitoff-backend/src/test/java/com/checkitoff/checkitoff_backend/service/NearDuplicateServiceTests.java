@@ -0,0 +1,145 @@
+package com.checkitoff.checkitoff_backend.service;
+
+import com.checkitoff.checkitoff_backend.dto.NearDuplicate;
+import com.checkitoff.checkitoff_backend.model.News;
+import com.checkitoff.checkitoff_backend.repository.NewsRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class NearDuplicateServiceTests {
+
+	private static final String FLOOD = "Flood waters reach the old market district as the river keeps rising overnight";
+
+	private NewsRepository newsRepository;
+	private NearDuplicateService service;
+
+	@BeforeEach
+	void setUp() {
+		newsRepository = mock(NewsRepository.class);
+		service = new NearDuplicateService();
+		ReflectionTestUtils.setField(service, "newsRepository", newsRepository);
+		ReflectionTestUtils.setField(service, "similarityThreshold", 0.6);
+		ReflectionTestUtils.setField(service, "checkBudgetMillis", 1_000L);
+	}
+
+	@Test
+	void shinglesIgnoreCasePunctuationAndSpacing() {
+		service.index(news(1L, FLOOD, "Verified"));
+		service.index(news(2L, "FLOOD waters reach the old-market district...   as the river keeps rising, overnight!", "Unverified"));
+
+		assertThat(service.findNearDuplicates(1L)).singleElement().satisfies(duplicate -> {
+			assertThat(duplicate.newsId()).isEqualTo(2L);
+			assertThat(duplicate.similarity()).isEqualTo(1.0);
+		});
+	}
+
+	@Test
+	void bandCollisionBelowTheThresholdIsNotReported() {
+		service.index(news(1L, FLOOD, "Verified"));
+		service.index(news(2L, "Flood waters reach the old market district as rain keeps falling across the north", "Verified"));
+
+		// The pair shares an LSH band, so it is compared, but scores under 0.6.
+		ReflectionTestUtils.setField(service, "similarityThreshold", 0.0);
+		double similarity = service.findNearDuplicates(1L).get(0).similarity();
+		assertThat(similarity).isLessThan(0.6);
+
+		ReflectionTestUtils.setField(service, "similarityThreshold", 0.6);
+		assertThat(service.findNearDuplicates(1L)).isEmpty();
+		ReflectionTestUtils.setField(service, "similarityThreshold", similarity);
+		assertThat(service.findNearDuplicates(1L)).extracting(NearDuplicate::newsId).containsExactly(2L);
+	}
+
+	@Test
+	void storiesWithoutASharedBandAreNeverCompared() {
+		service.index(news(1L, FLOOD, "Verified"));
+		service.index(news(2L, "Flood waters reach the old market while schools in the city stay closed today", "Verified"));
+		ReflectionTestUtils.setField(service, "similarityThreshold", 0.0);
+
+		assertThat(service.findNearDuplicates(1L)).isEmpty();
+	}
+
+	@Test
+	void classifiedCheckOnlyMatchesVerifiedAndFakeNews() {
+		service.index(news(1L, FLOOD, "Unverified"));
+		News incoming = news(null, FLOOD + ".", "Unverified");
+
+		assertThat(service.findClassifiedDuplicates(incoming)).isEmpty();
+
+		// Reclassified through the outbox: the index picks up the new category.
+		when(newsRepository.findById(1L)).thenReturn(Optional.of(news(1L, FLOOD, "Fake News")));
+		service.handle(1L, List.of());
+
+		assertThat(service.findClassifiedDuplicates(incoming)).singleElement()
+				.extracting(NearDuplicate::category).isEqualTo("Fake News");
+	}
+
+	@Test
+	void editReindexesTheStory() {
+		service.index(news(1L, FLOOD, "Verified"));
+		service.index(news(2L, FLOOD, "Verified"));
+		String election = "Election commission confirms the count will finish before the weekend";
+
+		when(newsRepository.findById(2L)).thenReturn(Optional.of(news(2L, election, "Verified")));
+		service.handle(2L, List.of());
+
+		assertThat(service.findNearDuplicates(1L)).isEmpty();
+		service.index(news(3L, election + "!", "Verified"));
+		assertThat(service.findNearDuplicates(3L)).extracting(NearDuplicate::newsId).containsExactly(2L);
+	}
+
+	@Test
+	void deletedStoryIsEvicted() {
+		service.index(news(1L, FLOOD, "Verified"));
+		service.index(news(2L, FLOOD, "Verified"));
+
+		when(newsRepository.findById(2L)).thenReturn(Optional.empty());
+		service.handle(2L, List.of());
+
+		assertThat(service.findNearDuplicates(1L)).isEmpty();
+		assertThat(service.findNearDuplicates(2L)).isEmpty();
+		assertThat(service.metrics()).containsEntry("indexed", 1);
+	}
+
+	@Test
+	void storyWithoutTextIsNeitherIndexedNorMatched() {
+		service.index(news(1L, "!!!", "Verified"));
+		service.index(news(2L, "???", "Verified"));
+
+		assertThat(service.findNearDuplicates(1L)).isEmpty();
+		assertThat(service.findClassifiedDuplicates(news(null, "...", "Unverified"))).isEmpty();
+		assertThat(service.metrics()).containsEntry("indexed", 0);
+	}
+
+	@Test
+	void checkStopsAtTheBudgetAndCountsIt() {
+		for (long id = 1; id <= 100; id++) {
+			service.index(news(id, FLOOD, "Verified"));
+		}
+		// Every clock read moves a millisecond on, so a 5 ms budget runs out after a few reads.
+		long[] now = {0};
+		service.clock = () -> now[0] += 1_000_000;
+		ReflectionTestUtils.setField(service, "checkBudgetMillis", 5L);
+
+		List<NearDuplicate> found = service.findClassifiedDuplicates(news(null, FLOOD, "Unverified"));
+
+		assertThat(found).isNotEmpty().hasSizeLessThan(100);
+		assertThat(service.metrics()).containsEntry("checks", 1L).containsEntry("overBudget", 1L);
+	}
+
+	private static News news(Long id, String title, String category) {
+		News news = new News();
+		news.setId(id);
+		news.setTitle(title);
+		news.setCategory(category);
+		news.setVisible(true);
+		return news;
+	}
+}
@@ -0,0 +1,235 @@
+package com.checkitoff.checkitoff_backend.service;
+
+import com.checkitoff.checkitoff_backend.dto.NewsSummary;
+import com.checkitoff.checkitoff_backend.model.News;
+import com.checkitoff.checkitoff_backend.model.OutboxEvent;
+import com.checkitoff.checkitoff_backend.repository.NewsRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class NewsReadModelTests {
+
+	private NewsRepository newsRepository;
+	private NewsReadModel model;
+
+	@BeforeEach
+	void setUp() {
+		newsRepository = mock(NewsRepository.class);
+		model = new NewsReadModel();
+		ReflectionTestUtils.setField(model, "newsRepository", newsRepository);
+		ReflectionTestUtils.setField(model, "enabled", true);
+		model.load(List.of());
+	}
+
+	@Test
+	void insertInTheMiddleShiftsVisibilityWithTheRow() {
+		model.load(List.of(news(1L, true), news(3L, false), news(5L, true)));
+
+		model.upsert(news(2L, false));
+		model.upsert(news(4L, true));
+
+		assertThat(ids(model.exportAll())).containsExactly(1L, 2L, 3L, 4L, 5L);
+		assertThat(visibleIds()).containsExactly(5L, 4L, 1L);
+		assertThat(model.find(3L)).get().extracting(NewsSummary::visible).isEqualTo(false);
+	}
+
+	@Test
+	void removeInTheMiddleShiftsVisibilityBack() {
+		model.load(List.of(news(1L, false), news(2L, true), news(3L, false), news(4L, true)));
+
+		model.remove(2L);
+
+		assertThat(ids(model.exportAll())).containsExactly(1L, 3L, 4L);
+		assertThat(visibleIds()).containsExactly(4L);
+		assertThat(model.find(2L)).isEmpty();
+
+		// The freed tail slot must not leak its old bit into the next row stored there.
+		model.upsert(news(9L, false));
+		assertThat(visibleIds()).containsExactly(4L);
+	}
+
+	@Test
+	void removingFirstAndLastRows() {
+		model.load(List.of(news(1L, true), news(2L, false), news(3L, true)));
+
+		model.remove(1L);
+		model.remove(3L);
+		model.remove(42L);
+
+		assertThat(ids(model.exportAll())).containsExactly(2L);
+		assertThat(visibleIds()).isEmpty();
+	}
+
+	@Test
+	void upsertOfAnExistingRowUpdatesItInPlace() {
+		model.load(List.of(news(1L, true), news(2L, true)));
+
+		News hidden = news(1L, false);
+		hidden.setUpVotes(7);
+		hidden.setCategory("Verified");
+		model.upsert(hidden);
+
+		assertThat(model.size()).isEqualTo(2);
+		assertThat(visibleIds()).containsExactly(2L);
+		NewsSummary row = model.find(1L).orElseThrow();
+		assertThat(row.upVotes()).isEqualTo(7);
+		assertThat(row.category()).isEqualTo("Verified");
+	}
+
+	@Test
+	void growsPastInitialCapacityWithReverseOrderInserts() {
+		List<Long> expectedVisible = new ArrayList<>();
+		for (long id = 1000; id >= 1; id--) {
+			boolean visible = id % 3 != 0;
+			model.upsert(news(id, visible));
+			if (visible) expectedVisible.add(id);
+		}
+
+		assertThat(model.size()).isEqualTo(1000);
+		assertThat(ids(model.exportAll())).isSorted();
+		assertThat(ids(model.feed(null, null, 1000))).isEqualTo(expectedVisible);
+	}
+
+	@Test
+	void feedPagesByIdAndFiltersByCategory() {
+		News fake = news(2L, true);
+		fake.setCategory("Fake News");
+		model.load(List.of(news(1L, true), fake, news(3L, false), news(4L, true), news(5L, true)));
+
+		assertThat(ids(model.feed(null, null, 2))).containsExactly(5L, 4L);
+		assertThat(ids(model.feed(null, 4L, 2))).containsExactly(2L, 1L);
+		assertThat(ids(model.feed("fake news", null, 10))).containsExactly(2L);
+		assertThat(model.feed("No such category", null, 10)).isEmpty();
+	}
+
+	@Test
+	void statsCountHiddenStoriesButCategoryTotalsDoNot() {
+		News verified = news(2L, false);
+		verified.setCategory("Verified");
+		model.load(List.of(news(1L, true), verified, news(3L, true)));
+
+		Map<String, Long> stats = model.stats();
+		assertThat(stats).containsEntry("total", 3L).containsEntry("unverified", 2L).containsEntry("verified", 1L);
+		assertThat(model.categoryTotals()).containsEntry("Unverified", 2L).containsEntry("Verified", 0L);
+	}
+
+	@Test
+	void storyWithoutACategoryIsInTheTotalButInNoBucket() {
+		News uncategorized = news(2L, true);
+		uncategorized.setCategory(null);
+		model.load(List.of(news(1L, true), uncategorized));
+
+		assertThat(model.stats()).containsEntry("total", 2L).containsEntry("unverified", 1L)
+				.containsEntry("verified", 0L).containsEntry("fake", 0L);
+		assertThat(model.categoryTotals()).containsEntry("Unverified", 1L);
+		assertThat(model.find(2L).orElseThrow().category()).isNull();
+		assertThat(ids(model.feed("Unverified", null, 10))).containsExactly(1L);
+	}
+
+	@Test
+	void voteDeltaIsDroppedOnceItsEventHasBeenReloaded() {
+		model.load(List.of(news(1L, true)));
+
+		model.applyVote(1L, 10L, 1, 0, 1);
+		assertThat(model.find(1L).orElseThrow().upVotes()).isEqualTo(1);
+		assertThat(model.find(1L).orElseThrow().commentsCount()).isEqualTo(1);
+
+		// The outbox reload of event 11 counts both votes; the second vote's afterCommit runs late.
+		News stored = news(1L, true);
+		stored.setUpVotes(2);
+		stored.setCommentsCount(1);
+		when(newsRepository.findById(1L)).thenReturn(Optional.of(stored));
+		model.handle(1L, List.of(event(10L), event(11L)));
+		model.applyVote(1L, 11L, 1, 0, 0);
+
+		assertThat(model.find(1L).orElseThrow().upVotes()).isEqualTo(2);
+		model.applyVote(1L, 12L, 0, 1, 0);
+		assertThat(model.find(1L).orElseThrow().downVotes()).isEqualTo(1);
+	}
+
+	@Test
+	void changesDuringReconcileAreReplayedOverTheDatabaseRows() {
+		model.load(List.of(news(1L, true), news(2L, true), news(3L, true)));
+		model.beginReconcile();
+
+		News voted = news(2L, true);
+		voted.setUpVotes(10);
+		model.upsert(voted);
+		model.upsert(news(4L, true));
+		model.remove(3L);
+
+		// Read before those changes committed: still has 3, lacks 4, and has the old count for 2.
+		model.finishReconcile(List.of(summary(news(1L, true)), summary(news(2L, true)), summary(news(3L, true))));
+
+		assertThat(ids(model.exportAll())).containsExactly(1L, 2L, 4L);
+		assertThat(model.find(2L).orElseThrow().upVotes()).isEqualTo(10);
+
+		// The journal is closed; the next reconcile starts from a clean slate.
+		model.upsert(news(5L, true));
+		model.finishReconcile(List.of(summary(news(1L, true))));
+		assertThat(ids(model.exportAll())).containsExactly(1L);
+	}
+
+	@Test
+	void detailLoadsTheDescriptionOnceAndFollowsEdits() {
+		model.load(List.of(news(1L, true)));
+		when(newsRepository.findFullDescriptionById(1L)).thenReturn(Optional.of("Long text"));
+
+		assertThat(model.findDetail(1L).orElseThrow().getFullDescription()).isEqualTo("Long text");
+		assertThat(model.findDetail(1L).orElseThrow().getTitle()).isEqualTo("Story 1");
+		verify(newsRepository, times(1)).findFullDescriptionById(1L);
+
+		News edited = news(1L, true);
+		edited.setFullDescription("Corrected text");
+		model.upsert(edited);
+		assertThat(model.findDetail(1L).orElseThrow().getFullDescription()).isEqualTo("Corrected text");
+
+		model.remove(1L);
+		assertThat(model.findDetail(1L)).isEmpty();
+		assertThat(model.exportFullDescriptions()).isEmpty();
+	}
+
+	private List<Long> visibleIds() {
+		return ids(model.feed(null, null, Integer.MAX_VALUE));
+	}
+
+	private static List<Long> ids(List<NewsSummary> rows) {
+		return rows.stream().map(NewsSummary::id).toList();
+	}
+
+	private static NewsSummary summary(News news) {
+		return new NewsSummary(news.getId(), news.getTitle(), news.getCategory(), news.getDescription(),
+				news.getAuthor(), news.getDate(), news.getImage(), news.getPublishedAt(),
+				news.getUpVotes(), news.getDownVotes(), news.getCommentsCount(), news.getVisible());
+	}
+
+	private static OutboxEvent event(Long id) {
+		OutboxEvent event = new OutboxEvent();
+		event.setId(id);
+		event.setNewsId(1L);
+		event.setEventType(OutboxEvent.EventType.VOTE_CREATED);
+		return event;
+	}
+
+	private static News news(Long id, boolean visible) {
+		News news = new News();
+		news.setId(id);
+		news.setTitle("Story " + id);
+		news.setAuthor("AP");
+		news.setCategory("Unverified");
+		news.setVisible(visible);
+		return news;
+	}
+}
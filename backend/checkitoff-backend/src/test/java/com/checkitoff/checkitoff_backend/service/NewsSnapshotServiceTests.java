@@ -0,0 +1,122 @@
+package com.checkitoff.checkitoff_backend.service;
+
+import com.checkitoff.checkitoff_backend.dto.NewsSummary;
+import com.checkitoff.checkitoff_backend.model.News;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class NewsSnapshotServiceTests {
+
+	@TempDir
+	Path dir;
+
+	private Path file;
+	private NewsReadModel model;
+	private NewsSnapshotService snapshots;
+
+	@BeforeEach
+	void setUp() {
+		file = dir.resolve("news-snapshot.bin");
+		model = new NewsReadModel();
+		ReflectionTestUtils.setField(model, "enabled", true);
+		snapshots = new NewsSnapshotService();
+		ReflectionTestUtils.setField(snapshots, "newsReadModel", model);
+		ReflectionTestUtils.setField(snapshots, "enabled", true);
+		ReflectionTestUtils.setField(snapshots, "path", file);
+		ReflectionTestUtils.setField(snapshots, "maxAgeHours", 24L);
+	}
+
+	@Test
+	void roundTripsRowsAndCachedDescriptions() throws IOException {
+		NewsSummary first = new NewsSummary(1L, "Flood warning", "Verified", "Short", "AP", "2025-01-02",
+				"img.png", LocalDateTime.of(2025, 1, 2, 8, 30), 4, 1, 2, true);
+		NewsSummary second = new NewsSummary(7L, "ข่าวปลอม", "Fake News", null, null, null,
+				null, null, 0, 9, 0, false);
+		snapshots.write(List.of(first, second), Map.of(7L, "Full story"));
+
+		snapshots.restore();
+
+		assertThat(model.isReady()).isTrue();
+		assertThat(model.exportAll()).containsExactly(first, second);
+		assertThat(model.exportFullDescriptions()).containsExactly(Map.entry(7L, "Full story"));
+		assertThat(model.findDetail(7L)).get().extracting(News::getFullDescription).isEqualTo("Full story");
+	}
+
+	@Test
+	void corruptBodyIsDiscarded() throws IOException {
+		snapshots.write(List.of(summary(1L), summary(2L)), Map.of());
+		byte[] bytes = Files.readAllBytes(file);
+		bytes[bytes.length - 3] ^= 0x5A;
+		Files.write(file, bytes);
+
+		assertThatThrownBy(() -> snapshots.read()).hasMessageContaining("checksum");
+		snapshots.restore();
+
+		assertThat(model.isReady()).isFalse();
+		assertThat(file).doesNotExist();
+	}
+
+	@Test
+	void truncatedFileIsDiscarded() throws IOException {
+		snapshots.write(List.of(summary(1L), summary(2L)), Map.of());
+		byte[] bytes = Files.readAllBytes(file);
+		Files.write(file, Arrays.copyOf(bytes, bytes.length - 10));
+
+		assertThatThrownBy(() -> snapshots.read()).hasMessageContaining("length");
+		snapshots.restore();
+
+		assertThat(model.isReady()).isFalse();
+		assertThat(file).doesNotExist();
+	}
+
+	@Test
+	void fileShorterThanTheHeaderIsDiscarded() throws IOException {
+		Files.write(file, new byte[] {0x43, 0x4B});
+
+		snapshots.restore();
+
+		assertThat(model.isReady()).isFalse();
+		assertThat(file).doesNotExist();
+	}
+
+	@Test
+	void otherFormatVersionIsIgnored() throws IOException {
+		snapshots.write(List.of(summary(1L)), Map.of());
+		byte[] bytes = Files.readAllBytes(file);
+		ByteBuffer.wrap(bytes).putInt(4, 1);
+		Files.write(file, bytes);
+
+		assertThat(snapshots.read()).isNull();
+		assertThat(file).doesNotExist();
+	}
+
+	@Test
+	void staleSnapshotIsIgnored() throws IOException {
+		snapshots.write(List.of(summary(1L)), Map.of());
+		ReflectionTestUtils.setField(snapshots, "maxAgeHours", 0L);
+
+		snapshots.restore();
+
+		assertThat(model.isReady()).isFalse();
+		assertThat(file).doesNotExist();
+	}
+
+	private static NewsSummary summary(Long id) {
+		return new NewsSummary(id, "Story " + id, "Unverified", "About " + id, "AP", "2025-01-01",
+				null, null, 1, 0, 0, true);
+	}
+}
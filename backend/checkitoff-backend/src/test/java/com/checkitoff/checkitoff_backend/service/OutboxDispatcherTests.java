@@ -0,0 +1,135 @@
+package com.checkitoff.checkitoff_backend.service;
+
+import com.checkitoff.checkitoff_backend.model.OutboxEvent;
+import com.checkitoff.checkitoff_backend.repository.OutboxEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OutboxDispatcherTests {
+
+	private OutboxEventRepository repository;
+	private RecordingHandler shared;
+	private RecordingHandler cache;
+	private OutboxDispatcher dispatcher;
+
+	@BeforeEach
+	void setUp() {
+		repository = mock(OutboxEventRepository.class);
+		shared = new RecordingHandler(false);
+		cache = new RecordingHandler(true);
+		dispatcher = new OutboxDispatcher(mock(PlatformTransactionManager.class));
+		ReflectionTestUtils.setField(dispatcher, "outboxRepository", repository);
+		ReflectionTestUtils.setField(dispatcher, "handlers", List.of(shared, cache));
+		ReflectionTestUtils.setField(dispatcher, "instanceId", "node-a");
+		ReflectionTestUtils.setField(dispatcher, "batchSize", 500);
+		ReflectionTestUtils.setField(dispatcher, "maxAttempts", 3);
+		ReflectionTestUtils.setField(dispatcher, "leaseSeconds", 60);
+	}
+
+	@Test
+	void runsOnlySharedHandlersOnTheEventsThisInstanceClaimed() {
+		List<OutboxEvent> claimed = List.of(event(1L, 10L, 0), event(2L, 11L, 0), event(3L, 10L, 0));
+		when(repository.claim(eq("node-a"), any(), any(), eq(500))).thenReturn(claimed.size());
+		when(repository.findClaimed("node-a")).thenReturn(claimed);
+
+		dispatcher.drain();
+
+		assertThat(shared.calls).containsExactly("10:[1, 3]", "11:[2]");
+		assertThat(cache.calls).isEmpty();
+		verify(repository).markProcessed(eq(List.of(1L, 3L)), any());
+		verify(repository).markProcessed(eq(List.of(2L)), any());
+	}
+
+	@Test
+	void failingStoryIsReleasedForRetryWithoutHoldingBackOthers() {
+		shared.failFor = Set.of(10L);
+		List<OutboxEvent> claimed = List.of(event(1L, 10L, 0), event(2L, 11L, 0));
+		when(repository.claim(eq("node-a"), any(), any(), eq(500))).thenReturn(claimed.size());
+		when(repository.findClaimed("node-a")).thenReturn(claimed);
+
+		dispatcher.drain();
+
+		verify(repository).markFailed(eq(List.of(1L)), anyString());
+		verify(repository, never()).markParked(any(), any());
+		verify(repository, never()).markProcessed(eq(List.of(1L)), any());
+		verify(repository).markProcessed(eq(List.of(2L)), any());
+	}
+
+	@Test
+	void lastAttemptParksTheEventsInsteadOfMarkingThemProcessed() {
+		shared.failFor = Set.of(10L);
+		List<OutboxEvent> claimed = List.of(event(1L, 10L, 2));
+		when(repository.claim(eq("node-a"), any(), any(), eq(500))).thenReturn(claimed.size());
+		when(repository.findClaimed("node-a")).thenReturn(claimed);
+
+		dispatcher.drain();
+
+		verify(repository).markFailed(eq(List.of(1L)), anyString());
+		verify(repository).markParked(eq(List.of(1L)), any());
+		verify(repository, never()).markProcessed(any(), any());
+	}
+
+	@Test
+	void laterEventsOfAFailedStoryWaitForTheNextDrain() {
+		shared.failFor = Set.of(10L);
+		List<OutboxEvent> first = new ArrayList<>();
+		first.add(event(1L, 10L, 0));
+		first.add(event(2L, 11L, 0));
+		List<OutboxEvent> second = List.of(event(3L, 10L, 0), event(4L, 12L, 0));
+		when(repository.claim(eq("node-a"), any(), any(), anyInt())).thenReturn(2, 2, 0);
+		when(repository.findClaimed("node-a")).thenReturn(first, second);
+		ReflectionTestUtils.setField(dispatcher, "batchSize", 2);
+
+		dispatcher.drain();
+
+		assertThat(shared.calls).containsExactly("10:[1]", "11:[2]", "12:[4]");
+		verify(repository).release(Set.of(3L));
+	}
+
+	private static OutboxEvent event(Long id, Long newsId, int attempts) {
+		OutboxEvent event = new OutboxEvent();
+		event.setId(id);
+		event.setNewsId(newsId);
+		event.setEventType(OutboxEvent.EventType.VOTE_CREATED);
+		event.setAttempts(attempts);
+		return event;
+	}
+
+	static final class RecordingHandler implements OutboxEventHandler {
+
+		private final boolean perInstance;
+		final List<String> calls = new ArrayList<>();
+		Set<Long> failFor = Set.of();
+
+		RecordingHandler(boolean perInstance) {
+			this.perInstance = perInstance;
+		}
+
+		@Override
+		public void handle(Long newsId, List<OutboxEvent> events) {
+			calls.add(newsId + ":" + events.stream().map(OutboxEvent::getId).toList());
+			if (failFor.contains(newsId)) throw new IllegalStateException("boom " + newsId);
+		}
+
+		@Override
+		public boolean perInstance() {
+			return perInstance;
+		}
+	}
+}
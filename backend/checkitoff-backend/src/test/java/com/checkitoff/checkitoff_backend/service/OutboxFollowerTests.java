@@ -0,0 +1,116 @@
+package com.checkitoff.checkitoff_backend.service;
+
+import com.checkitoff.checkitoff_backend.model.OutboxEvent;
+import com.checkitoff.checkitoff_backend.repository.OutboxEventRepository;
+import com.checkitoff.checkitoff_backend.service.OutboxDispatcherTests.RecordingHandler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OutboxFollowerTests {
+
+	private long now;
+	private OutboxEventRepository repository;
+	private RecordingHandler shared;
+	private RecordingHandler cache;
+	private OutboxFollower follower;
+
+	@BeforeEach
+	void setUp() {
+		repository = mock(OutboxEventRepository.class);
+		when(repository.findAfter(anyLong(), any())).thenReturn(List.of());
+		when(repository.findMaxIdCreatedBefore(any())).thenReturn(4L);
+		shared = new RecordingHandler(false);
+		cache = new RecordingHandler(true);
+		follower = new OutboxFollower(mock(PlatformTransactionManager.class));
+		follower.clock = () -> now;
+		ReflectionTestUtils.setField(follower, "outboxRepository", repository);
+		ReflectionTestUtils.setField(follower, "handlers", List.of(shared, cache));
+		ReflectionTestUtils.setField(follower, "batchSize", 500);
+		ReflectionTestUtils.setField(follower, "maxAttempts", 3);
+		ReflectionTestUtils.setField(follower, "gapTimeoutMillis", 60_000L);
+	}
+
+	@Test
+	void feedsEveryEventToTheCachesWithoutMarkingAnything() {
+		when(repository.findAfter(eq(4L), any())).thenReturn(List.of(event(5L, 10L), event(6L, 11L), event(7L, 10L)));
+
+		follower.follow();
+
+		assertThat(cache.calls).containsExactly("10:[5, 7]", "11:[6]");
+		assertThat(shared.calls).isEmpty();
+		assertThat(follower.cursor()).isEqualTo(7L);
+		verify(repository, never()).markProcessed(any(), any());
+	}
+
+	@Test
+	void idThatCommitsLateIsPickedUpFromTheGap() {
+		when(repository.findAfter(eq(4L), any())).thenReturn(List.of(event(5L, 10L), event(7L, 11L)));
+		follower.follow();
+		assertThat(follower.gaps()).containsExactly(6L);
+
+		when(repository.findAllById(Set.of(6L))).thenReturn(List.of(event(6L, 12L)));
+		follower.follow();
+
+		assertThat(cache.calls).containsExactly("10:[5]", "11:[7]", "12:[6]");
+		assertThat(follower.gaps()).isEmpty();
+		assertThat(follower.cursor()).isEqualTo(7L);
+	}
+
+	@Test
+	void gapThatNeverFillsIsForgottenAfterTheTimeout() {
+		when(repository.findAfter(eq(4L), any())).thenReturn(List.of(event(8L, 10L)));
+		follower.follow();
+		assertThat(follower.gaps()).containsExactly(5L, 6L, 7L);
+
+		now += 30_000;
+		follower.follow();
+		assertThat(follower.gaps()).containsExactly(5L, 6L, 7L);
+
+		now += 31_000;
+		follower.follow();
+		assertThat(follower.gaps()).isEmpty();
+	}
+
+	@Test
+	void failedStoryIsRetriedWithItsNewEventsAndDroppedAfterMaxAttempts() {
+		cache.failFor = Set.of(10L);
+		when(repository.findAfter(eq(4L), any())).thenReturn(List.of(event(5L, 10L)));
+		follower.follow();
+		when(repository.findAfter(eq(5L), any())).thenReturn(List.of(event(6L, 10L)));
+		follower.follow();
+		follower.follow();
+		follower.follow();
+
+		assertThat(cache.calls).containsExactly("10:[5]", "10:[5, 6]", "10:[5, 6]");
+	}
+
+	@Test
+	void startsBehindTheNewestEventSoLateCommitsAtStartupAreReplayed() {
+		follower.position();
+
+		assertThat(follower.cursor()).isEqualTo(4L);
+		verify(repository).findMaxIdCreatedBefore(any());
+	}
+
+	private static OutboxEvent event(Long id, Long newsId) {
+		OutboxEvent event = new OutboxEvent();
+		event.setId(id);
+		event.setNewsId(newsId);
+		event.setEventType(OutboxEvent.EventType.NEWS_CHANGED);
+		return event;
+	}
+}
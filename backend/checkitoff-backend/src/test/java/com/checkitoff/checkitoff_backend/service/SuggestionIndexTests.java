@@ -0,0 +1,185 @@
+package com.checkitoff.checkitoff_backend.service;
+
+import com.checkitoff.checkitoff_backend.dto.Suggestion;
+import com.checkitoff.checkitoff_backend.model.News;
+import com.checkitoff.checkitoff_backend.repository.NewsRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SuggestionIndexTests {
+
+	private NewsRepository newsRepository;
+	private SuggestionIndex index;
+
+	@BeforeEach
+	void setUp() {
+		newsRepository = mock(NewsRepository.class);
+		index = new SuggestionIndex();
+		ReflectionTestUtils.setField(index, "newsRepository", newsRepository);
+	}
+
+	@Test
+	void suggestsTitlesFromAnyWordBoundary() {
+		add(news(1L, "New vaccine approved", "Reuters", 5));
+
+		assertThat(texts(index.suggest("new", 8))).containsExactly("New vaccine approved");
+		assertThat(texts(index.suggest("vacc", 8))).containsExactly("New vaccine approved");
+		assertThat(texts(index.suggest("Reu", 8))).containsExactly("Reuters");
+		assertThat(index.suggest("zzz", 8)).isEmpty();
+	}
+
+	@Test
+	void ordersByWeight() {
+		add(news(1L, "Flood warning north", "AP", 1));
+		add(news(2L, "Flood relief arrives", "AP", 20));
+
+		assertThat(texts(index.suggest("flood", 8)))
+				.containsExactly("Flood relief arrives", "Flood warning north");
+	}
+
+	@Test
+	void removedAndHiddenStoriesDisappear() {
+		add(news(1L, "Election results", "BBC", 0));
+		index.evict(1L);
+		assertThat(index.suggest("elec", 8)).isEmpty();
+		assertThat(index.size()).isZero();
+
+		News hidden = news(2L, "Election rumours", "BBC", 0);
+		add(hidden);
+		hidden.setVisible(false);
+		add(hidden);
+		assertThat(index.suggest("elec", 8)).isEmpty();
+	}
+
+	@Test
+	void renamingReplacesTheOldTitle() {
+		News news = news(1L, "Old headline", "AP", 0);
+		add(news);
+		news.setTitle("Fresh headline");
+		add(news);
+
+		assertThat(index.suggest("old", 8)).isEmpty();
+		assertThat(texts(index.suggest("fresh", 8))).containsExactly("Fresh headline");
+	}
+
+	@Test
+	void churnDoesNotGrowTheTrie() {
+		int emptyNodes = index.nodeCount();
+		for (long id = 1; id <= 50; id++) {
+			add(news(id, "Story number " + id + " about rain", "Author " + id, 0));
+		}
+		assertThat(index.nodeCount()).isGreaterThan(emptyNodes);
+
+		for (long id = 1; id <= 50; id++) {
+			index.evict(id);
+		}
+		assertThat(index.nodeCount()).isEqualTo(emptyNodes);
+	}
+
+	@Test
+	void pruningKeepsNodesStillUsedByOtherTerms() {
+		add(news(1L, "Rain", "AP", 0));
+		add(news(2L, "Rainbow", "AP", 0));
+		index.evict(2L);
+
+		assertThat(texts(index.suggest("rain", 8))).containsExactly("Rain");
+		assertThat(index.suggest("rainb", 8)).isEmpty();
+	}
+
+	@Test
+	void duplicatesDoNotUseUpTheLimit() {
+		// "a a a ..." puts several word-boundary keys of one title under the prefix "a".
+		add(news(1L, "a a a a a a a a", "X", 100));
+		for (long id = 2; id <= 4; id++) {
+			add(news(id, "alpha " + id, "Y", 0));
+		}
+
+		List<String> texts = texts(index.suggest("a", 4));
+		assertThat(texts).hasSize(4).doesNotHaveDuplicates();
+		assertThat(texts.get(0)).isEqualTo("a a a a a a a a");
+	}
+
+	@Test
+	void titleSuffixCategoryAndAuthorOnTheSameKeyStaySeparate() {
+		// All three normalize to "fake news".
+		News story = news(1L, "Spotting fake news", "Desk", 3);
+		story.setCategory("Fake News");
+		add(story);
+		add(news(2L, "Weather today", "Fake-News", 1));
+
+		List<Suggestion> suggestions = index.suggest("fake n", 8);
+		assertThat(suggestions).extracting(Suggestion::type).containsExactlyInAnyOrder("title", "category", "author");
+		assertThat(texts(suggestions)).containsExactlyInAnyOrder("Spotting fake news", "Fake News", "Fake-News");
+
+		index.evict(1L);
+		assertThat(index.suggest("fake", 8)).extracting(Suggestion::type).containsExactly("author");
+		index.evict(2L);
+		assertThat(index.suggest("fake", 8)).isEmpty();
+	}
+
+	@Test
+	void concurrentLookupsSeeConsistentResultsWhileStoriesChange() throws InterruptedException {
+		for (long id = 1; id <= 20; id++) {
+			add(news(id, "Storm update " + id, "AP", (int) id));
+		}
+		AtomicBoolean done = new AtomicBoolean();
+		List<Throwable> failures = new CopyOnWriteArrayList<>();
+		List<Thread> readers = new ArrayList<>();
+		for (int t = 0; t < 4; t++) {
+			readers.add(Thread.ofPlatform().start(() -> {
+				while (!done.get()) {
+					try {
+						List<Suggestion> found = index.suggest("storm", SuggestionIndex.MAX_RESULTS);
+						assertThat(found).hasSizeBetween(1, SuggestionIndex.MAX_RESULTS).doesNotHaveDuplicates();
+					} catch (Throwable e) {
+						failures.add(e);
+						return;
+					}
+				}
+			}));
+		}
+		for (int round = 0; round < 2_000; round++) {
+			long id = 21 + round % 10;
+			add(news(id, "Storm warning " + round, "AP", round));
+			index.evict(id);
+		}
+		done.set(true);
+		for (Thread reader : readers) {
+			reader.join();
+		}
+
+		assertThat(failures).isEmpty();
+		assertThat(index.size()).isEqualTo(20);
+	}
+
+	private void add(News news) {
+		when(newsRepository.findById(news.getId())).thenReturn(Optional.of(news));
+		index.handle(news.getId(), List.of());
+	}
+
+	private static List<String> texts(List<Suggestion> suggestions) {
+		return suggestions.stream().map(Suggestion::text).toList();
+	}
+
+	private static News news(Long id, String title, String author, int upVotes) {
+		News news = new News();
+		news.setId(id);
+		news.setTitle(title);
+		news.setAuthor(author);
+		news.setCategory("Unverified");
+		news.setUpVotes(upVotes);
+		news.setVisible(true);
+		return news;
+	}
+}
@@ -0,0 +1,126 @@
+package com.checkitoff.checkitoff_backend.service;
+
+import com.checkitoff.checkitoff_backend.model.NewsViewWindow;
+import com.checkitoff.checkitoff_backend.repository.NewsViewWindowRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ViewCountSketchTests {
+
+	@Test
+	void estimatesNeverUndercount() {
+		ViewCountSketch sketch = new ViewCountSketch(0, 1024);
+		Random random = new Random(42);
+		long[] actual = new long[5000];
+		for (int i = 0; i < 200_000; i++) {
+			int id = random.nextInt(actual.length);
+			actual[id]++;
+			sketch.record(id);
+		}
+
+		long bound = (long) (Math.E * 200_000 / ViewCountSketch.WIDTH);
+		int overBound = 0;
+		for (int id = 0; id < actual.length; id++) {
+			long estimate = sketch.estimate(id);
+			assertThat(estimate).isGreaterThanOrEqualTo(actual[id]);
+			if (estimate - actual[id] > bound) overBound++;
+		}
+		// e/WIDTH of the total for all but about e^-DEPTH (under 2%) of the stories.
+		assertThat(overBound).isLessThan(actual.length / 50);
+	}
+
+	@Test
+	void lateHeavyHitterReplacesTheSmallestCandidate() {
+		ViewCountSketch sketch = new ViewCountSketch(0, 8);
+		for (long id = 1; id <= 8; id++) {
+			for (int view = 0; view < id * 10; view++) {
+				sketch.record(id);
+			}
+		}
+		assertThat(sketch.candidates()).containsExactlyInAnyOrder(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L);
+
+		for (int view = 0; view < 500; view++) {
+			sketch.record(100L);
+		}
+
+		assertThat(sketch.candidates()).hasSize(8).contains(100L).doesNotContain(1L);
+	}
+
+	@Test
+	void turnoverFollowsTheTrafficAcrossTheWindow() {
+		ViewCountSketch sketch = new ViewCountSketch(0, 16);
+		for (long id = 1; id <= 16; id++) {
+			for (int view = 0; view < 5; view++) {
+				sketch.record(id);
+			}
+		}
+		// A long tail of one-off views never displaces anything.
+		for (long id = 1_000; id < 3_000; id++) {
+			sketch.record(id);
+		}
+		assertThat(sketch.candidates()).allMatch(id -> id <= 16);
+
+		// Sixteen later stories that each outdraw the early ones take over the whole set.
+		for (int view = 0; view < 20; view++) {
+			for (long id = 500; id < 516; id++) {
+				sketch.record(id);
+			}
+		}
+		assertThat(sketch.candidates()).hasSize(16).allMatch(id -> id >= 500 && id < 516);
+	}
+
+	@Test
+	void flushLosesNoViewsRecordedDuringTheSwap() throws InterruptedException {
+		NewsViewWindowRepository repository = mock(NewsViewWindowRepository.class);
+		LongAdder saved = new LongAdder();
+		when(repository.saveAll(anyList())).thenAnswer(invocation -> {
+			List<NewsViewWindow> rows = invocation.getArgument(0);
+			rows.forEach(row -> saved.add(row.getViews()));
+			return rows;
+		});
+		ViewTrackingService service = new ViewTrackingService(mock(PlatformTransactionManager.class));
+		ReflectionTestUtils.setField(service, "viewWindowRepository", repository);
+		ReflectionTestUtils.setField(service, "candidateCapacity", 64);
+		ReflectionTestUtils.setField(service, "topPerWindow", 64);
+		ReflectionTestUtils.setField(service, "retentionDays", 30);
+
+		int threads = 8;
+		int viewsPerThread = 50_000;
+		AtomicBoolean done = new AtomicBoolean();
+		List<Thread> recorders = new ArrayList<>();
+		for (int t = 0; t < threads; t++) {
+			long id = t + 1;
+			recorders.add(Thread.ofPlatform().start(() -> {
+				for (int i = 0; i < viewsPerThread; i++) {
+					service.recordView(id);
+				}
+			}));
+		}
+		Thread flusher = Thread.ofPlatform().start(() -> {
+			while (!done.get()) {
+				service.flush();
+			}
+		});
+		for (Thread recorder : recorders) {
+			recorder.join();
+		}
+		done.set(true);
+		flusher.join();
+		service.flush();
+
+		// Eight ids hash to distinct counters, so each window's estimates are exact.
+		assertThat(saved.sum()).isEqualTo((long) threads * viewsPerThread);
+	}
+}
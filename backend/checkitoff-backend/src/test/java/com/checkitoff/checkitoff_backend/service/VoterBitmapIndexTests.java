@@ -0,0 +1,127 @@
+package com.checkitoff.checkitoff_backend.service;
+
+import com.checkitoff.checkitoff_backend.dto.VoterEntry;
+import com.checkitoff.checkitoff_backend.model.OutboxEvent;
+import com.checkitoff.checkitoff_backend.model.VotesAndComments.VoteType;
+import com.checkitoff.checkitoff_backend.repository.VotesAndCommentsRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class VoterBitmapIndexTests {
+
+	private VotesAndCommentsRepository votesRepo;
+	private VoterBitmapIndex index;
+
+	@BeforeEach
+	void setUp() {
+		votesRepo = mock(VotesAndCommentsRepository.class);
+		index = new VoterBitmapIndex();
+		ReflectionTestUtils.setField(index, "votesRepo", votesRepo);
+		ReflectionTestUtils.setField(index, "objectMapper", new ObjectMapper());
+	}
+
+	@Test
+	void lookupsDuringARebuildStillSeeTheOldVoters() {
+		when(votesRepo.findAllVisibleVoters()).thenReturn(List.of(new VoterEntry(1L, 7, VoteType.upvote)));
+		index.rebuild();
+
+		when(votesRepo.findAllVisibleVoters()).thenAnswer(invocation -> {
+			// The new map is still being read from the database here.
+			assertThat(index.votedStatus(7, List.of(1L))).containsEntry(1L, "upvote");
+			return List.of(new VoterEntry(1L, 7, VoteType.upvote), new VoterEntry(2L, 7, VoteType.downvote));
+		});
+		index.rebuild();
+
+		assertThat(index.votedStatus(7, List.of(1L, 2L))).containsEntry(1L, "upvote").containsEntry(2L, "downvote");
+	}
+
+	@Test
+	void voteRecordedDuringARebuildSurvivesTheSwap() {
+		when(votesRepo.findAllVisibleVoters()).thenAnswer(invocation -> {
+			// Committed after the bulk read started, so the read does not include it.
+			index.recordVote(3L, 9, VoteType.upvote);
+			return List.of(new VoterEntry(1L, 7, VoteType.upvote));
+		});
+		when(votesRepo.findVisibleVotersByNewsId(3L)).thenReturn(List.of(new VoterEntry(3L, 9, VoteType.upvote)));
+
+		index.rebuild();
+
+		assertThat(index.votedStatus(9, List.of(3L))).containsEntry(3L, "upvote");
+		assertThat(index.storyCount()).isEqualTo(2);
+	}
+
+	@Test
+	void flippedVoteMovesTheUserBetweenBitmaps() {
+		index.recordVote(1L, 7, VoteType.upvote);
+		assertThat(index.votedStatus(7, List.of(1L))).containsEntry(1L, "upvote");
+
+		// The upvote is hidden by a moderator and the user votes down instead.
+		when(votesRepo.findVisibleVotersByNewsId(1L)).thenReturn(List.of(new VoterEntry(1L, 7, VoteType.downvote)));
+		index.handle(1L, List.of(event(OutboxEvent.EventType.COMMENT_VISIBILITY_CHANGED, null)));
+
+		assertThat(index.votedStatus(7, List.of(1L))).containsEntry(1L, "downvote");
+		assertThat(stats(1L)).containsEntry("upVoters", 0).containsEntry("downVoters", 1);
+	}
+
+	@Test
+	void hiddenVotesAreDroppedOnReload() {
+		index.recordVote(1L, 7, VoteType.upvote);
+		index.recordVote(1L, 8, VoteType.upvote);
+
+		when(votesRepo.findVisibleVotersByNewsId(1L)).thenReturn(List.of(new VoterEntry(1L, 8, VoteType.upvote)));
+		index.handle(1L, List.of(event(OutboxEvent.EventType.COMMENT_VISIBILITY_CHANGED, null)));
+		assertThat(index.votedStatus(7, List.of(1L))).containsEntry(1L, "none");
+		assertThat(index.votedStatus(8, List.of(1L))).containsEntry(1L, "upvote");
+
+		when(votesRepo.findVisibleVotersByNewsId(1L)).thenReturn(List.of());
+		index.handle(1L, List.of(event(OutboxEvent.EventType.COMMENT_VISIBILITY_CHANGED, null)));
+		assertThat(index.storyCount()).isZero();
+	}
+
+	@Test
+	void afterCommitAndOutboxDeliveryOfOneVoteCountItOnce() {
+		OutboxEvent vote = event(OutboxEvent.EventType.VOTE_CREATED, "{\"voteId\":5,\"userId\":7,\"vote\":\"upvote\"}");
+
+		// afterCommit on the instance that took the vote, then the outbox, then an at-least-once redelivery.
+		index.recordVote(1L, 7, VoteType.upvote);
+		index.handle(1L, List.of(vote));
+		index.handle(1L, List.of(vote));
+		// Another instance only ever sees the outbox.
+		index.handle(2L, List.of(vote));
+		index.recordVote(2L, 7, VoteType.upvote);
+
+		assertThat(index.votedStatus(7, List.of(1L, 2L))).containsEntry(1L, "upvote").containsEntry(2L, "upvote");
+		assertThat(stats(1L)).containsEntry("upVoters", 1).containsEntry("downVoters", 0);
+		assertThat(stats(2L)).containsEntry("upVoters", 1);
+	}
+
+	@Test
+	void unreadablePayloadFallsBackToAReload() {
+		when(votesRepo.findVisibleVotersByNewsId(1L)).thenReturn(List.of(new VoterEntry(1L, 7, VoteType.downvote)));
+
+		index.handle(1L, List.of(event(OutboxEvent.EventType.VOTE_CREATED, "not json")));
+
+		assertThat(index.votedStatus(7, List.of(1L))).containsEntry(1L, "downvote");
+	}
+
+	private Map<String, Object> stats(Long newsId) {
+		return index.memoryStats(100).stream().filter(row -> newsId.equals(row.get("newsId"))).findFirst().orElseThrow();
+	}
+
+	private static OutboxEvent event(OutboxEvent.EventType type, String payload) {
+		OutboxEvent event = new OutboxEvent();
+		event.setNewsId(1L);
+		event.setEventType(type);
+		event.setPayload(payload);
+		return event;
+	}
+}
@@ -46,8 +46,22 @@ export const useNewsStore = defineStore("newsStore", {
 
         if (res.status === 200 || res.status === 201) {
           console.log("🌟 Vote submitted successfully.");
-          if (votePayload.news_id)
-            await this.fetchNewsById(votePayload.news_id);
+          // The response carries the updated counters and expected category;
+          // re-fetching could race the server-side reclassification.
+          if (votePayload.news_id) {
+            const newsId = Number(votePayload.news_id);
+            const updated = {
+              upVotes: res.data.upVotes,
+              downVotes: res.data.downVotes,
+              commentsCount: res.data.commentsCount,
+              // null for stories created without a category; keep what is shown.
+              ...(res.data.category != null ? { category: res.data.category } : {}),
+            };
+            if (this.currentNews && this.currentNews.id === newsId)
+              this.currentNews = { ...this.currentNews, ...updated };
+            const listed = this.newsList.find((n) => n.id === newsId);
+            if (listed) Object.assign(listed, updated);
+          }
         } else {
           throw new Error("Vote submission failed");
         }